@@ -17,7 +17,9 @@ CREATE TABLE projects (
   name VARCHAR(255) NOT NULL,
   target LONGTEXT,
   complex LONGTEXT,
-  description TEXT
+  description TEXT,
+  target_sha256 VARCHAR(64),
+  complex_sha256 VARCHAR(64)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_general_ci;
 
 -- ------------------------------------------------------------
@@ -35,6 +37,7 @@ CREATE TABLE backbones (
   chains_to_remove TEXT,
   iterations INT,
   structure LONGTEXT,
+  structure_sha256 VARCHAR(64),
   CONSTRAINT fk_backbones_project
     FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_general_ci;
@@ -59,6 +62,8 @@ CREATE TABLE generation_jobs (
   output_csv LONGTEXT,
   fasta LONGTEXT,
   best_pdb LONGTEXT,
+  fasta_sha256 VARCHAR(64),
+  best_pdb_sha256 VARCHAR(64),
   total_records INT,
   CONSTRAINT fk_generation_jobs_project
     FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE,
@@ -73,6 +78,8 @@ CREATE INDEX idx_generation_jobs_run_id ON generation_jobs (run_id);
 -- ------------------------------------------------------------
 -- Tabla: generation_jobs_records (depende de generation_jobs)
 -- PK compuesta (generation_job_id, n)
+-- mpnn_value, pae_value, i_pae_value: mpnn, pae, i_pae como número (para agregar/filtrar en SQL)
+-- pdb_sha256: SHA-256 del pdb (ETag sin leer el LONGTEXT); igual en projects, backbones y generation_jobs
 -- ------------------------------------------------------------
 CREATE TABLE generation_jobs_records (
   generation_job_id BIGINT NOT NULL,
@@ -86,6 +93,10 @@ CREATE TABLE generation_jobs_records (
   i_pae TEXT,
   rmsd DOUBLE,
   seq TEXT,
+  mpnn_value DOUBLE,
+  pae_value DOUBLE,
+  i_pae_value DOUBLE,
+  pdb_sha256 VARCHAR(64),
   PRIMARY KEY (generation_job_id, n),
   CONSTRAINT fk_generation_jobs_records_job
     FOREIGN KEY (generation_job_id) REFERENCES generation_jobs (id) ON DELETE CASCADE
@@ -93,6 +104,35 @@ CREATE TABLE generation_jobs_records (
 
 CREATE INDEX idx_generation_jobs_records_job_id ON generation_jobs_records (generation_job_id);
 
+-- ------------------------------------------------------------
+-- Tabla: generation_job_metric_stats (depende de generation_jobs)
+-- Estadísticas descriptivas por métrica calculadas al completar el job,
+-- más un resumen combinable (momentos m2..m4 y t-digest) para EDA multi-job
+-- PK compuesta (generation_job_id, metric)
+-- ------------------------------------------------------------
+CREATE TABLE generation_job_metric_stats (
+  generation_job_id BIGINT NOT NULL,
+  metric VARCHAR(16) NOT NULL,
+  record_count BIGINT,
+  mean DOUBLE,
+  std DOUBLE,
+  min_value DOUBLE,
+  p25 DOUBLE,
+  p50 DOUBLE,
+  p75 DOUBLE,
+  max_value DOUBLE,
+  skew DOUBLE,
+  kurtosis DOUBLE,
+  quality DOUBLE,
+  m2 DOUBLE,
+  m3 DOUBLE,
+  m4 DOUBLE,
+  digest BLOB,
+  PRIMARY KEY (generation_job_id, metric),
+  CONSTRAINT fk_generation_job_metric_stats_job
+    FOREIGN KEY (generation_job_id) REFERENCES generation_jobs (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_general_ci;
+
 -- ------------------------------------------------------------
 -- Tablas para Spring Security (usuarios, roles, permisos)
 -- ------------------------------------------------------------
@@ -0,0 +1,23 @@
+-- Agrega la tabla de estadísticas precalculadas por job y métrica.
+-- Para bases creadas antes de este cambio; db.sql ya la incluye.
+-- Después de aplicarla, poblar los jobs existentes con:
+--   POST /api/projects/{projectId}/generation-jobs/eda/descriptive-stats/recompute
+
+CREATE TABLE generation_job_metric_stats (
+  generation_job_id BIGINT NOT NULL,
+  metric VARCHAR(16) NOT NULL,
+  record_count BIGINT,
+  mean DOUBLE,
+  std DOUBLE,
+  min_value DOUBLE,
+  p25 DOUBLE,
+  p50 DOUBLE,
+  p75 DOUBLE,
+  max_value DOUBLE,
+  skew DOUBLE,
+  kurtosis DOUBLE,
+  quality DOUBLE,
+  PRIMARY KEY (generation_job_id, metric),
+  CONSTRAINT fk_generation_job_metric_stats_job
+    FOREIGN KEY (generation_job_id) REFERENCES generation_jobs (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_general_ci;
@@ -0,0 +1,10 @@
+-- Agrega el resumen combinable (momentos centrales y t-digest) a generation_job_metric_stats.
+-- Las filas existentes quedan sin resumen: la EDA multi-job usa los registros crudos para esos jobs
+-- hasta recalcularlos con:
+--   POST /api/projects/{projectId}/generation-jobs/eda/descriptive-stats/recompute
+
+ALTER TABLE generation_job_metric_stats
+  ADD COLUMN m2 DOUBLE,
+  ADD COLUMN m3 DOUBLE,
+  ADD COLUMN m4 DOUBLE,
+  ADD COLUMN digest BLOB;
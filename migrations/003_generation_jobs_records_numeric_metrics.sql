@@ -0,0 +1,14 @@
+-- Columnas numéricas para mpnn, pae e i_pae (guardadas como texto) y backfill de los registros existentes.
+-- Los valores vacíos o no numéricos quedan en NULL, igual que al ingerir.
+-- Requiere MySQL 8.0.17+ (CAST ... AS DOUBLE).
+
+ALTER TABLE generation_jobs_records
+  ADD COLUMN mpnn_value DOUBLE,
+  ADD COLUMN pae_value DOUBLE,
+  ADD COLUMN i_pae_value DOUBLE;
+
+UPDATE generation_jobs_records
+SET
+  mpnn_value = CASE WHEN mpnn REGEXP '^ *[-+]?([0-9]+[.]?[0-9]*|[.][0-9]+)([eE][-+]?[0-9]+)? *$' THEN CAST(TRIM(mpnn) AS DOUBLE) END,
+  pae_value = CASE WHEN pae REGEXP '^ *[-+]?([0-9]+[.]?[0-9]*|[.][0-9]+)([eE][-+]?[0-9]+)? *$' THEN CAST(TRIM(pae) AS DOUBLE) END,
+  i_pae_value = CASE WHEN i_pae REGEXP '^ *[-+]?([0-9]+[.]?[0-9]*|[.][0-9]+)([eE][-+]?[0-9]+)? *$' THEN CAST(TRIM(i_pae) AS DOUBLE) END;
@@ -0,0 +1,23 @@
+-- Hash SHA-256 (hex) de cada contenido LONGTEXT servido como texto, para ETag / If-None-Match sin leer el
+-- contenido, y backfill de las filas existentes. SHA2(col, 256) da el mismo valor que la aplicación
+-- (SHA-256 de los bytes UTF-8 en hex minúsculas). El backfill de generation_jobs_records puede tardar en
+-- tablas grandes; las filas sin hash siguen funcionando, solo sin ETag.
+
+ALTER TABLE projects
+  ADD COLUMN target_sha256 VARCHAR(64),
+  ADD COLUMN complex_sha256 VARCHAR(64);
+
+ALTER TABLE backbones
+  ADD COLUMN structure_sha256 VARCHAR(64);
+
+ALTER TABLE generation_jobs
+  ADD COLUMN fasta_sha256 VARCHAR(64),
+  ADD COLUMN best_pdb_sha256 VARCHAR(64);
+
+ALTER TABLE generation_jobs_records
+  ADD COLUMN pdb_sha256 VARCHAR(64);
+
+UPDATE projects SET target_sha256 = SHA2(target, 256), complex_sha256 = SHA2(complex, 256);
+UPDATE backbones SET structure_sha256 = SHA2(structure, 256);
+UPDATE generation_jobs SET fasta_sha256 = SHA2(fasta, 256), best_pdb_sha256 = SHA2(best_pdb, 256);
+UPDATE generation_jobs_records SET pdb_sha256 = SHA2(pdb, 256);
@@ -0,0 +1,63 @@
+package edu.itesm.accelerated_drug_design_backend.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of holding cached PDB text gzip-compressed, per Deflater level, against plain UTF-8 ({@code NONE}):
+ * {@code encode} is {@link PdbEntry#of} (once per cache fill) and {@code text} is {@link PdbEntry#text()}
+ * (every read that needs the text). Setup prints the stored bytes per text byte of each level.
+ * <p>
+ * {@code pdb} is a path relative to the project directory (where ./gradlew jmh runs); pass other files,
+ * e.g. downloaded PDB entries, with {@code java -jar build/libs/*-jmh.jar PdbEntry -p pdb=a.pdb,b.pdb}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PdbEntryBenchmark {
+
+	@Param({"src/test/resources/structure/complex.pdb"})
+	String pdb;
+
+	@Param({"NONE", "1", "6", "9"})
+	String level;
+
+	String text;
+	PdbEntry.Compression compression;
+	int deflateLevel;
+	PdbEntry entry;
+
+	@Setup
+	public void entry() throws IOException {
+		text = Files.readString(Path.of(pdb), StandardCharsets.UTF_8);
+		compression = level.equals("NONE") ? PdbEntry.Compression.NONE : PdbEntry.Compression.GZIP;
+		deflateLevel = compression == PdbEntry.Compression.NONE ? 0 : Integer.parseInt(level);
+		entry = PdbEntry.of(text, compression, deflateLevel);
+		int textBytes = text.getBytes(StandardCharsets.UTF_8).length;
+		System.out.printf(Locale.ROOT, "%n%s level %s: %d text bytes, %d stored, %.3f stored bytes per text byte%n",
+				pdb, level, textBytes, entry.storedBytes(), (double) entry.storedBytes() / textBytes);
+	}
+
+	@Benchmark
+	public PdbEntry encode() {
+		return PdbEntry.of(text, compression, deflateLevel);
+	}
+
+	@Benchmark
+	public String text() {
+		return entry.text();
+	}
+}
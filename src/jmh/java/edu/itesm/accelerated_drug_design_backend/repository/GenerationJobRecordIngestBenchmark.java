@@ -0,0 +1,146 @@
+package edu.itesm.accelerated_drug_design_backend.repository;
+
+import edu.itesm.accelerated_drug_design_backend.entity.AppUser;
+import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJob;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobMetricStats;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobRecord;
+import edu.itesm.accelerated_drug_design_backend.entity.Project;
+import edu.itesm.accelerated_drug_design_backend.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceConfiguration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest of one MPNN detail batch into generation_jobs_records, reported in rows/s.
+ * {@code saveAll} is the path before the bulk writer: {@code SimpleJpaRepository.saveAll}, which merges each
+ * record (the composite key is assigned, so every row costs a SELECT before its INSERT).
+ * {@code batchUpdate} is {@link GenerationJobRecordBulkWriter#insertAll} at the configured batch size (500).
+ * Both run in one transaction on an empty table.
+ * <p>
+ * The database is an in-memory H2 in MySQL mode: there are no network round trips, so the gap against a
+ * remote MySQL (one round trip per SELECT and INSERT before, one multi-row INSERT per batch with
+ * rewriteBatchedStatements=true after) is larger than measured here. Each record carries the PDB text of
+ * {@code pdb}, a path relative to the project directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(GenerationJobRecordIngestBenchmark.ROWS)
+public class GenerationJobRecordIngestBenchmark {
+
+	static final int ROWS = 1000;
+	private static final String URL = "jdbc:h2:mem:ingest;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+
+	@Param({"src/test/resources/structure/complex.pdb"})
+	String pdb;
+
+	@Param({"500"})
+	int batchSize;
+
+	EntityManagerFactory emf;
+	JdbcTemplate jdbcTemplate;
+	TransactionTemplate jdbcTransaction;
+	GenerationJobRecordBulkWriter writer;
+	List<GenerationJobRecord> records;
+
+	@Setup
+	public void database() throws IOException {
+		PersistenceConfiguration config = new PersistenceConfiguration("ingest")
+				.managedClass(AppUser.class)
+				.managedClass(Backbone.class)
+				.managedClass(GenerationJob.class)
+				.managedClass(GenerationJobMetricStats.class)
+				.managedClass(GenerationJobRecord.class)
+				.managedClass(Project.class)
+				.managedClass(Role.class)
+				.property(PersistenceConfiguration.JDBC_URL, URL)
+				.property(PersistenceConfiguration.JDBC_USER, "sa")
+				.property(PersistenceConfiguration.JDBC_PASSWORD, "")
+				.property("jakarta.persistence.schema-generation.database.action", "drop-and-create")
+				// Records only: no parent job or project rows
+				.property("hibernate.hbm2ddl.default_constraint_mode", "NO_CONSTRAINT");
+		emf = Persistence.createEntityManagerFactory(config);
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(URL);
+		dataSource.setUser("sa");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		writer = new GenerationJobRecordBulkWriter(jdbcTemplate, batchSize);
+
+		String text = Files.readString(Path.of(pdb), StandardCharsets.UTF_8);
+		Random random = new Random(42);
+		records = new ArrayList<>(ROWS);
+		for (int n = 0; n < ROWS; n++) {
+			GenerationJobRecord r = new GenerationJobRecord();
+			r.setGenerationJobId(1L);
+			r.setN(n);
+			r.setPdb(text);
+			r.setMpnn(String.format(Locale.ROOT, "%.4f", 0.8 + random.nextDouble()));
+			r.setPlddt(70 + 25 * random.nextDouble());
+			r.setPtm(random.nextDouble());
+			r.setIPtm(random.nextDouble());
+			r.setPae(String.format(Locale.ROOT, "%.3f", 5 + 10 * random.nextDouble()));
+			r.setIPae(String.format(Locale.ROOT, "%.3f", 5 + 20 * random.nextDouble()));
+			r.setRmsd(3 * random.nextDouble());
+			r.setSeq("MSEEKLKELLEKAKELLEKG".repeat(4));
+			records.add(r);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyTable() {
+		jdbcTemplate.update("DELETE FROM generation_jobs_records");
+	}
+
+	@TearDown
+	public void close() {
+		emf.close();
+	}
+
+	@Benchmark
+	public int saveAll() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			em.getTransaction().begin();
+			int saved = new SimpleJpaRepository<>(GenerationJobRecord.class, em).saveAll(records).size();
+			em.getTransaction().commit();
+			return saved;
+		} finally {
+			em.close();
+		}
+	}
+
+	@Benchmark
+	public int batchUpdate() {
+		return jdbcTransaction.execute(status -> writer.insertAll(records));
+	}
+}
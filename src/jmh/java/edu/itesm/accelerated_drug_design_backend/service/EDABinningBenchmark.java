@@ -0,0 +1,110 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import edu.itesm.accelerated_drug_design_backend.dto.BinsRequest;
+import edu.itesm.accelerated_drug_design_backend.dto.BinsResponse;
+import edu.itesm.accelerated_drug_design_backend.dto.HistogramResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bins analysis and histograms of one metric column, as served by EDAService.
+ * {@code binsPrevious} is the implementation before binary search: values as {@code List<Double>} and a
+ * linear scan over the {@code List<Double>} bins per value. {@code bins} and {@code histogramWithEdges} go
+ * through EDAService's own code with the same edges; {@code histogramEqualWidth} uses the same number of
+ * bins. Values are pLDDT-like (0-100), edges evenly spaced over 0-100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EDABinningBenchmark {
+
+	@Param({"10000", "1000000"})
+	int n;
+
+	@Param({"4", "100"})
+	int binCount;
+
+	double[] values;
+	List<Double> boxedValues;
+	List<Double> edges;
+	BinsRequest request;
+
+	@Setup
+	public void data() {
+		Random random = new Random(42);
+		values = new double[n];
+		boxedValues = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			values[i] = Math.max(0.0, Math.min(100.0, 85.0 - 10.0 * Math.abs(random.nextGaussian())));
+			boxedValues.add(values[i]);
+		}
+		edges = new ArrayList<>(binCount + 1);
+		List<String> labels = new ArrayList<>(binCount);
+		for (int i = 0; i <= binCount; i++) {
+			edges.add(100.0 * i / binCount);
+			if (i < binCount) labels.add("bin " + i);
+		}
+		request = new BinsRequest(edges, labels);
+	}
+
+	@Benchmark
+	public BinsResponse bins() {
+		return EDAService.buildBinsResponse("plddt", values, request);
+	}
+
+	@Benchmark
+	public HistogramResponse histogramWithEdges() {
+		return EDAService.buildHistogram("plddt", values, null, edges);
+	}
+
+	@Benchmark
+	public HistogramResponse histogramEqualWidth() {
+		return EDAService.buildHistogram("plddt", values, binCount, null);
+	}
+
+	@Benchmark
+	public BinsResponse binsPrevious() {
+		List<Double> bins = request.bins();
+		List<String> labels = request.labels();
+		int numCategories = labels.size();
+		long[] counts = new long[numCategories];
+		for (Double v : boxedValues) {
+			int idx = binIndexPrevious(v, bins, numCategories);
+			if (idx >= 0 && idx < numCategories) {
+				counts[idx]++;
+			}
+		}
+		int total = boxedValues.size();
+		List<Long> countList = new ArrayList<>(numCategories);
+		List<Double> percentages = new ArrayList<>(numCategories);
+		for (long c : counts) {
+			countList.add(c);
+			percentages.add(total > 0 ? (100.0 * c / total) : 0.0);
+		}
+		return new BinsResponse("plddt", labels, countList, percentages);
+	}
+
+	private static int binIndexPrevious(double value, List<Double> bins, int numCategories) {
+		for (int i = 0; i < numCategories; i++) {
+			double low = bins.get(i);
+			double high = bins.get(i + 1);
+			if (i == numCategories - 1) {
+				if (value >= low && value <= high) return i;
+			} else {
+				if (value >= low && value < high) return i;
+			}
+		}
+		return -1;
+	}
+}
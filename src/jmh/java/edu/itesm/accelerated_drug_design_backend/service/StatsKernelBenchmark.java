@@ -0,0 +1,76 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descriptive stats of one metric column: {@link StatsKernel#summarize} against the implementation it
+ * replaced in EDAService.computeDescriptiveStats (sort a copy, then one stream per moment with
+ * {@code Math.pow}). Both copy the input, as EDAService does. Values are log-normal around 80, like pLDDT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsKernelBenchmark {
+
+	@Param({"1000", "100000", "10000000"})
+	int n;
+
+	double[] values;
+
+	@Setup
+	public void values() {
+		Random random = new Random(42);
+		values = new double[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = 80.0 - Math.exp(random.nextGaussian());
+		}
+	}
+
+	@Benchmark
+	public StatsKernel.Summary kernel() {
+		return StatsKernel.summarize(values);
+	}
+
+	@Benchmark
+	public double[] previous() {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int n = sorted.length;
+
+		double mean = Arrays.stream(sorted).sum() / n;
+		double variance = Arrays.stream(sorted).map(v -> (v - mean) * (v - mean)).sum() / n;
+		double std = Math.sqrt(variance);
+
+		double min = sorted[0];
+		double max = sorted[n - 1];
+
+		double p25 = percentile(sorted, 25);
+		double p50 = percentile(sorted, 50);
+		double p75 = percentile(sorted, 75);
+
+		double skew = std > 0 ? Arrays.stream(sorted).map(v -> Math.pow((v - mean) / std, 3)).sum() / n : Double.NaN;
+		double kurtosis = std > 0 ? Arrays.stream(sorted).map(v -> Math.pow((v - mean) / std, 4)).sum() / n - 3.0 : Double.NaN;
+		return new double[]{mean, std, min, p25, p50, p75, max, skew, kurtosis};
+	}
+
+	private static double percentile(double[] sorted, double p) {
+		int n = sorted.length;
+		if (n == 1) return sorted[0];
+		double index = p / 100.0 * (n - 1);
+		int lo = (int) Math.floor(index);
+		int hi = Math.min(lo + 1, n - 1);
+		double w = index - lo;
+		return sorted[lo] * (1 - w) + sorted[hi] * w;
+	}
+}
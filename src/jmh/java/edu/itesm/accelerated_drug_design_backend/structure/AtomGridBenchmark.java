@@ -0,0 +1,91 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface contact counting of a two-chain complex, as in suggestFromComplex: for every heavy atom of the
+ * target chain, the partner heavy atoms within the 4.5 Å cutoff. {@code allPairs} is the loop the grid
+ * replaced (every pair, distance with sqrt); {@code grid} includes building the partner grid, as each
+ * request does.
+ * <p>
+ * Each chain is a globule of {@code residues} × 8 heavy atoms at protein packing density (about one heavy
+ * atom per 20 Å³); the two globules overlap by a few Å, which gives an interface of realistic width.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AtomGridBenchmark {
+
+	private static final int ATOMS_PER_RESIDUE = 8;
+	private static final double VOLUME_PER_ATOM = 20.0;
+	private static final double CUTOFF = 4.5;
+
+	@Param({"100", "500", "2000"})
+	int residues;
+
+	float[] targetX, targetY, targetZ;
+	float[] partnerX, partnerY, partnerZ;
+
+	@Setup
+	public void complex() {
+		Random random = new Random(42);
+		int atoms = residues * ATOMS_PER_RESIDUE;
+		double radius = Math.cbrt(3.0 * atoms * VOLUME_PER_ATOM / (4.0 * Math.PI));
+		targetX = new float[atoms];
+		targetY = new float[atoms];
+		targetZ = new float[atoms];
+		partnerX = new float[atoms];
+		partnerY = new float[atoms];
+		partnerZ = new float[atoms];
+		globule(random, 0.0, radius, targetX, targetY, targetZ);
+		globule(random, 2 * radius - 4.0, radius, partnerX, partnerY, partnerZ);
+	}
+
+	@Benchmark
+	public long allPairs() {
+		long contacts = 0;
+		for (int a = 0; a < targetX.length; a++) {
+			for (int b = 0; b < partnerX.length; b++) {
+				double dx = (double) targetX[a] - partnerX[b];
+				double dy = (double) targetY[a] - partnerY[b];
+				double dz = (double) targetZ[a] - partnerZ[b];
+				if (Math.sqrt(dx * dx + dy * dy + dz * dz) <= CUTOFF) contacts++;
+			}
+		}
+		return contacts;
+	}
+
+	@Benchmark
+	public long grid() {
+		AtomGrid grid = AtomGrid.of(partnerX, partnerY, partnerZ, CUTOFF);
+		long contacts = 0;
+		for (int a = 0; a < targetX.length; a++) {
+			contacts += grid.countWithin(targetX[a], targetY[a], targetZ[a], CUTOFF);
+		}
+		return contacts;
+	}
+
+	/** Uniform points in the sphere of the given radius centred at (centerX, 0, 0). */
+	private static void globule(Random random, double centerX, double radius, float[] x, float[] y, float[] z) {
+		for (int i = 0; i < x.length; ) {
+			double px = (2 * random.nextDouble() - 1) * radius;
+			double py = (2 * random.nextDouble() - 1) * radius;
+			double pz = (2 * random.nextDouble() - 1) * radius;
+			if (px * px + py * py + pz * pz > radius * radius) continue;
+			x[i] = (float) (centerX + px);
+			y[i] = (float) py;
+			z[i] = (float) pz;
+			i++;
+		}
+	}
+}
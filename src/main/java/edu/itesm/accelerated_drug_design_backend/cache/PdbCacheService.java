@@ -1,109 +1,449 @@
 package edu.itesm.accelerated_drug_design_backend.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import edu.itesm.accelerated_drug_design_backend.entity.ContentHash;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * In-memory cache for PDB content: project target, project complex,
  * backbone structure, generation job best PDB, and generation job record PDBs.
- * Read-through: services check cache first, then load from DB and store in cache.
+ * Read-through: services pass a DB loader to the {@code getOrLoad*} methods; the load runs atomically per key
+ * (Caffeine compute-if-absent), so concurrent requests for the same cold key wait for a single DB fetch
+ * instead of each issuing their own. Hits, misses, load time and coalesced waits are counted per category
+ * ({@link #stats()}).
+ * <p>
+ * Record PDB keys are also indexed by job ({@code projectId:jobId -> keys}), so evicting a job invalidates
+ * only that job's entries instead of scanning every cached key. The index is kept in sync by the eviction
+ * listener (size/TTL evictions), by disk segment drops and by {@link #evictRecordPdbsForJob}; stale index keys
+ * are harmless.
+ * <p>
+ * Optionally ({@code app.pdb-cache.disk.enabled}) record PDBs evicted from heap for size are demoted to a
+ * local memory-mapped {@link PdbDiskStore}; a heap miss checks the disk tier before the DB loader. The disk
+ * tier keeps the stored (compressed) bytes and its index is rebuilt on startup, so entries survive restarts.
+ * Demotions and job removals run in order on a single disk-writer thread, off Caffeine's eviction path.
+ * <p>
+ * Record PDB entries carry the SHA-256 of their text and are looked up with the hash stored on the DB row:
+ * a heap or disk entry with another hash (job re-completed, DB re-created, ids reused) is discarded and
+ * reloaded, so stale text is never served under the current ETag.
+ * <p>
+ * Each category is a separate Caffeine cache (W-TinyLFU eviction) bounded by an approximate byte budget:
+ * entries are weighed by their stored size plus a fixed per-entry overhead. Budgets and an optional
+ * expire-after-access TTL are set per category under {@code app.pdb-cache.<category>.max-size / ttl}
+ * (categories: target, complex, backbone, best-pdb, record-pdb).
+ * <p>
+ * Values are kept as {@link PdbEntry} bytes, gzip-compressed by default ({@code app.pdb-cache.compression:
+ * gzip|none}, {@code compression-level}), and decoded only when the text is read. The best and record PDB
+ * loaders return the stored entry so controllers can send the gzip bytes directly.
  */
 @Service
 public class PdbCacheService {
 
-	private static final String PREFIX_TARGET = "target:";
-	private static final String PREFIX_COMPLEX = "complex:";
-	private static final String PREFIX_BACKBONE = "backbone:";
-	private static final String PREFIX_BEST_PDB = "bestPdb:";
-	private static final String PREFIX_RECORD_PDB = "recordPdb:";
+	private static final Logger log = LoggerFactory.getLogger(PdbCacheService.class);
 
-	private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
+	/** Approximate per-entry overhead (key, String header, cache node) added to the text length. */
+	private static final int ENTRY_OVERHEAD_BYTES = 128;
 
-	// --- Target (project) ---
+	private enum Category {
+		TARGET("target", DataSize.ofMegabytes(32)),
+		COMPLEX("complex", DataSize.ofMegabytes(32)),
+		BACKBONE("backbone", DataSize.ofMegabytes(64)),
+		BEST_PDB("best-pdb", DataSize.ofMegabytes(64)),
+		RECORD_PDB("record-pdb", DataSize.ofMegabytes(128));
 
-	public Optional<String> getTarget(Long projectId) {
-		return Optional.ofNullable(cache.get(PREFIX_TARGET + projectId));
-	}
+		final String property;
+		final DataSize defaultMaxSize;
 
-	public void putTarget(Long projectId, String value) {
-		if (value != null) {
-			cache.put(PREFIX_TARGET + projectId, value);
+		Category(String property, DataSize defaultMaxSize) {
+			this.property = property;
+			this.defaultMaxSize = defaultMaxSize;
 		}
 	}
 
-	public void evictTarget(Long projectId) {
-		cache.remove(PREFIX_TARGET + projectId);
+	private final Map<Category, Cache<String, PdbEntry>> caches = new EnumMap<>(Category.class);
+	private final Map<Category, Counters> counters = new EnumMap<>(Category.class);
+	/** Record PDB keys per job ({@code projectId:jobId}). */
+	private final ConcurrentHashMap<String, Set<String>> recordKeysByJob = new ConcurrentHashMap<>();
+	private final PdbEntry.Compression compression;
+	private final int compressionLevel;
+	/** Disk tier for record PDBs; null when disabled. */
+	private final PdbDiskStore disk;
+	/** Single thread for disk-tier writes (demotions, job removals), in submission order; null without disk. */
+	private final ExecutorService diskWriter;
+
+	public PdbCacheService(Environment env) {
+		this.compression = PdbEntry.Compression.valueOf(
+				env.getProperty("app.pdb-cache.compression", "gzip").trim().toUpperCase(Locale.ROOT));
+		this.compressionLevel = env.getProperty("app.pdb-cache.compression-level", Integer.class, 1);
+		for (Category category : Category.values()) {
+			String prefix = "app.pdb-cache." + category.property;
+			DataSize maxSize = env.getProperty(prefix + ".max-size", DataSize.class, category.defaultMaxSize);
+			Duration ttl = env.getProperty(prefix + ".ttl", Duration.class, Duration.ZERO);
+			RemovalListener<String, PdbEntry> onEvict = category == Category.RECORD_PDB
+					? this::onRecordEvicted
+					: null;
+			caches.put(category, buildCache(maxSize, ttl, onEvict));
+			counters.put(category, new Counters());
+		}
+		// Opening may already drop segments (e.g. max-size lowered since the last run) and call onDiskDropped,
+		// which reads the record cache: the caches must exist by then
+		this.disk = openDiskStore(env, this::onDiskDropped);
+		this.diskWriter = disk == null ? null : Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "pdb-disk-writer");
+			t.setDaemon(true);
+			return t;
+		});
+		if (disk != null) {
+			disk.keys().forEach(key -> recordKeysByJob
+					.computeIfAbsent(jobKeyOf(key), k -> ConcurrentHashMap.newKeySet()).add(key));
+		}
 	}
 
-	// --- Complex (project) ---
+	private static PdbDiskStore openDiskStore(Environment env, Consumer<Collection<String>> onDropped) {
+		if (!env.getProperty("app.pdb-cache.disk.enabled", Boolean.class, false)) {
+			return null;
+		}
+		Path dir = Path.of(env.getProperty("app.pdb-cache.disk.dir", "pdb-cache"));
+		DataSize maxSize = env.getProperty("app.pdb-cache.disk.max-size", DataSize.class, DataSize.ofGigabytes(2));
+		DataSize segmentSize = env.getProperty("app.pdb-cache.disk.segment-size", DataSize.class, DataSize.ofMegabytes(64));
+		try {
+			return PdbDiskStore.open(dir, segmentSize.toBytes(), maxSize.toBytes(), onDropped);
+		} catch (IOException | RuntimeException e) {
+			log.warn("PDB disk cache disabled, could not open {}: {}", dir.toAbsolutePath(), e.getMessage());
+			return null;
+		}
+	}
 
-	public Optional<String> getComplex(Long projectId) {
-		return Optional.ofNullable(cache.get(PREFIX_COMPLEX + projectId));
+	@PreDestroy
+	public void close() {
+		if (disk != null) {
+			// Let queued demotions finish before the segments are flushed and closed
+			diskWriter.shutdown();
+			try {
+				if (!diskWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+					diskWriter.shutdownNow();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			disk.close();
+		}
 	}
 
-	public void putComplex(Long projectId, String value) {
-		if (value != null) {
-			cache.put(PREFIX_COMPLEX + projectId, value);
+	private static Cache<String, PdbEntry> buildCache(DataSize maxSize, Duration ttl,
+			RemovalListener<String, PdbEntry> evictionListener) {
+		Caffeine<String, PdbEntry> builder = Caffeine.newBuilder()
+				.maximumWeight(Math.max(0, maxSize.toBytes()))
+				.weigher((String key, PdbEntry value) -> weigh(value));
+		if (ttl != null && ttl.isPositive()) {
+			builder.expireAfterAccess(ttl);
+		}
+		if (evictionListener != null) {
+			builder.evictionListener(evictionListener);
 		}
+		return builder.recordStats().build();
 	}
 
-	public void evictComplex(Long projectId) {
-		cache.remove(PREFIX_COMPLEX + projectId);
+	private static int weigh(PdbEntry value) {
+		return (int) Math.min(Integer.MAX_VALUE, (long) value.storedBytes() + ENTRY_OVERHEAD_BYTES);
 	}
 
-	// --- Backbone structure ---
+	/**
+	 * Cached entry, or the loader's value stored as a new entry. Only one loader per key runs at a time;
+	 * callers arriving meanwhile block until it finishes and get its result (counted as coalesced waits).
+	 * A loader returning null stores nothing; its exceptions propagate to the caller that ran it.
+	 * With a non-null {@code sha256}, a cached entry with another content hash is discarded and reloaded.
+	 */
+	private Optional<PdbEntry> getOrLoad(Category category, String key, String sha256, Supplier<String> loader) {
+		Cache<String, PdbEntry> cache = caches.get(category);
+		Counters c = counters.get(category);
+		PdbEntry cached = cache.getIfPresent(key);
+		if (cached != null) {
+			if (sha256 == null || sha256.equals(cached.sha256())) {
+				c.hits.increment();
+				return Optional.of(cached);
+			}
+			cache.asMap().remove(key, cached);
+		}
+		boolean[] loadedHere = {false};
+		PdbEntry entry = cache.get(key, k -> {
+			loadedHere[0] = true;
+			long start = System.nanoTime();
+			try {
+				if (category == Category.RECORD_PDB && disk != null) {
+					Optional<PdbEntry> fromDisk = disk.get(k, sha256);
+					if (fromDisk.isPresent()) {
+						c.diskHits.increment();
+						onStored(category, k);
+						return fromDisk.get();
+					}
+				}
+				String value = loader.get();
+				if (value == null) {
+					return null;
+				}
+				onStored(category, k);
+				PdbEntry loaded = PdbEntry.of(value, compression, compressionLevel);
+				// Record PDBs keep their content hash for later verification (heap and disk tier)
+				return category == Category.RECORD_PDB ? loaded.withSha256(ContentHash.sha256(value)) : loaded;
+			} catch (RuntimeException e) {
+				c.loadFailures.increment();
+				throw e;
+			} finally {
+				c.loadNanos.add(System.nanoTime() - start);
+			}
+		});
+		(loadedHere[0] ? c.misses : c.coalescedWaits).increment();
+		return Optional.ofNullable(entry);
+	}
 
-	public Optional<String> getBackboneStructure(Long projectId, Long backboneId) {
-		return Optional.ofNullable(cache.get(PREFIX_BACKBONE + projectId + ":" + backboneId));
+	/** Stores the value (nothing for a null value), e.g. right after it was written to the DB. */
+	private void put(Category category, String key, String value) {
+		if (value == null) {
+			return;
+		}
+		caches.get(category).put(key, PdbEntry.of(value, compression, compressionLevel));
+		onStored(category, key);
 	}
 
-	public void putBackboneStructure(Long projectId, Long backboneId, String value) {
-		if (value != null) {
-			cache.put(PREFIX_BACKBONE + projectId + ":" + backboneId, value);
+	private void onStored(Category category, String key) {
+		if (category == Category.RECORD_PDB) {
+			recordKeysByJob.computeIfAbsent(jobKeyOf(key), k -> ConcurrentHashMap.newKeySet()).add(key);
 		}
 	}
 
-	public void evictBackboneStructure(Long projectId, Long backboneId) {
-		cache.remove(PREFIX_BACKBONE + projectId + ":" + backboneId);
+	private void evict(Category category, String key) {
+		caches.get(category).invalidate(key);
 	}
 
-	// --- Best PDB (generation job) ---
+	/**
+	 * True when PDBs are cached gzip-compressed ({@code app.pdb-cache.compression: gzip}), i.e. the
+	 * representation sent to gzip clients, and the one their ETags must name.
+	 */
+	public boolean isGzipCompressed() {
+		return compression == PdbEntry.Compression.GZIP;
+	}
+
+	// --- Target (project) ---
 
-	public Optional<String> getBestPdb(Long projectId, Long jobId) {
-		return Optional.ofNullable(cache.get(PREFIX_BEST_PDB + projectId + ":" + jobId));
+	/** Cached target, or the loader's value (null if the loader returns null). */
+	public String getOrLoadTarget(Long projectId, Supplier<String> loader) {
+		return getOrLoad(Category.TARGET, String.valueOf(projectId), null, loader).map(PdbEntry::text).orElse(null);
 	}
 
-	public void putBestPdb(Long projectId, Long jobId, String value) {
-		if (value != null) {
-			cache.put(PREFIX_BEST_PDB + projectId + ":" + jobId, value);
-		}
+	public void putTarget(Long projectId, String value) {
+		put(Category.TARGET, String.valueOf(projectId), value);
+	}
+
+	// --- Complex (project) ---
+
+	/** Cached complex, or the loader's value (null if the loader returns null). */
+	public String getOrLoadComplex(Long projectId, Supplier<String> loader) {
+		return getOrLoad(Category.COMPLEX, String.valueOf(projectId), null, loader).map(PdbEntry::text).orElse(null);
+	}
+
+	public void putComplex(Long projectId, String value) {
+		put(Category.COMPLEX, String.valueOf(projectId), value);
+	}
+
+	// --- Backbone structure ---
+
+	public Optional<String> getOrLoadBackboneStructure(Long projectId, Long backboneId, Supplier<String> loader) {
+		return getOrLoad(Category.BACKBONE, projectId + ":" + backboneId, null, loader).map(PdbEntry::text);
+	}
+
+	public void evictBackboneStructure(Long projectId, Long backboneId) {
+		evict(Category.BACKBONE, projectId + ":" + backboneId);
+	}
+
+	// --- Best PDB (generation job) ---
+
+	public Optional<PdbEntry> getOrLoadBestPdb(Long projectId, Long jobId, Supplier<String> loader) {
+		return getOrLoad(Category.BEST_PDB, projectId + ":" + jobId, null, loader);
 	}
 
 	public void evictBestPdb(Long projectId, Long jobId) {
-		cache.remove(PREFIX_BEST_PDB + projectId + ":" + jobId);
+		evict(Category.BEST_PDB, projectId + ":" + jobId);
 	}
 
 	// --- Record PDB (generation job record) ---
 
-	public Optional<String> getRecordPdb(Long projectId, Long jobId, Integer n) {
-		return Optional.ofNullable(cache.get(keyRecordPdb(projectId, jobId, n)));
+	/**
+	 * Cached record PDB whose content hash is {@code sha256} (the row's stored hash), or the loader's value.
+	 * With a null hash nothing can be verified: heap entries are served as-is and the disk tier is skipped.
+	 */
+	public Optional<PdbEntry> getOrLoadRecordPdb(Long projectId, Long jobId, Integer n, String sha256,
+			Supplier<String> loader) {
+		return getOrLoad(Category.RECORD_PDB, keyRecordPdb(projectId, jobId, n), sha256, loader);
+	}
+
+	private static String keyRecordPdb(Long projectId, Long jobId, Integer n) {
+		return projectId + ":" + jobId + ":" + n;
+	}
+
+	/** {@code projectId:jobId} part of a record PDB key. */
+	private static String jobKeyOf(String recordKey) {
+		return recordKey.substring(0, recordKey.lastIndexOf(':'));
 	}
 
-	public void putRecordPdb(Long projectId, Long jobId, Integer n, String value) {
-		if (value != null) {
-			cache.put(keyRecordPdb(projectId, jobId, n), value);
+	/**
+	 * Heap eviction of a record PDB: queued for demotion to the disk tier when evicted for size (the key stays
+	 * in the job index so job eviction reaches the disk copy); otherwise dropped from the job index. Runs on
+	 * Caffeine's eviction path, so it only enqueues and never touches the disk itself.
+	 */
+	private void onRecordEvicted(String key, PdbEntry value, RemovalCause cause) {
+		if (cause == RemovalCause.SIZE && disk != null && value != null && value.sha256() != null) {
+			try {
+				diskWriter.execute(() -> demote(key, value));
+				return;
+			} catch (RejectedExecutionException e) {
+				// shutting down
+			}
 		}
+		unindexRecordKey(key);
 	}
 
-	private static String keyRecordPdb(Long projectId, Long jobId, Integer n) {
-		return PREFIX_RECORD_PDB + projectId + ":" + jobId + ":" + n;
+	/**
+	 * Disk-writer task: writes an evicted entry to the disk tier, unless its job was evicted after it was
+	 * queued (job eviction removes the job's index entry before queuing the disk removal).
+	 */
+	private void demote(String key, PdbEntry value) {
+		Set<String> jobKeys = recordKeysByJob.get(jobKeyOf(key));
+		if (jobKeys == null || !jobKeys.contains(key)) {
+			return;
+		}
+		if (!disk.put(key, value)) {
+			unindexIfNotInHeap(List.of(key));
+		}
+	}
+
+	/** Disk segments dropped for space (on the disk-writer thread): their keys leave the job index. */
+	private void onDiskDropped(Collection<String> keys) {
+		unindexIfNotInHeap(keys);
+	}
+
+	/** Drops keys from the job index unless they are (again) cached in heap. */
+	private void unindexIfNotInHeap(Collection<String> keys) {
+		Map<String, PdbEntry> heap = caches.get(Category.RECORD_PDB).asMap();
+		for (String key : keys) {
+			recordKeysByJob.computeIfPresent(jobKeyOf(key), (jobKey, jobKeys) -> {
+				if (!heap.containsKey(key)) jobKeys.remove(key);
+				return jobKeys.isEmpty() ? null : jobKeys;
+			});
+		}
+	}
+
+	/** Drops an evicted key from the job index (and the job's set once empty). */
+	private void unindexRecordKey(String key) {
+		recordKeysByJob.computeIfPresent(jobKeyOf(key), (jobKey, keys) -> {
+			keys.remove(key);
+			return keys.isEmpty() ? null : keys;
+		});
 	}
 
-	/** Evicts all cached record PDBs for the given job (e.g. after job completion updates). */
+	/**
+	 * Evicts all cached record PDBs for the given job (e.g. after job completion updates).
+	 * Cost is proportional to the job's cached entries; other keys and readers are not touched.
+	 * The job's index entry is removed first, so demotions still queued for it are skipped; the disk removal
+	 * is queued behind any demotion already running.
+	 */
 	public void evictRecordPdbsForJob(Long projectId, Long jobId) {
-		String prefix = PREFIX_RECORD_PDB + projectId + ":" + jobId + ":";
-		cache.keySet().removeIf(key -> key.startsWith(prefix));
+		Set<String> keys = recordKeysByJob.remove(projectId + ":" + jobId);
+		if (keys != null) {
+			caches.get(Category.RECORD_PDB).invalidateAll(keys);
+			if (disk != null) {
+				Set<String> removed = Set.copyOf(keys);
+				try {
+					diskWriter.execute(() -> disk.removeAll(removed));
+				} catch (RejectedExecutionException e) {
+					// shutting down; entries left on disk fail the content-hash check if they are stale
+				}
+			}
+		}
+	}
+
+	// --- Stats ---
+
+	/**
+	 * Counters of one category since startup. {@code misses} are loads run by the caller; {@code diskHits} are those misses served by the disk tier instead of the DB;
+	 * {@code coalescedWaits} are callers that missed but got the value loaded by a concurrent caller.
+	 * {@code weightedSize} is the approximate byte usage against {@code maxWeight}. The disk fields are
+	 * zero for categories without a disk tier.
+	 */
+	public record CategoryStats(
+			long hits,
+			long misses,
+			long diskHits,
+			long coalescedWaits,
+			long loadFailures,
+			double totalLoadMillis,
+			long evictions,
+			long entries,
+			long weightedSize,
+			long maxWeight,
+			long diskEntries,
+			long diskBytes
+	) {}
+
+	/** Stats per category, keyed by the category's property name (target, complex, backbone, best-pdb, record-pdb). */
+	public Map<String, CategoryStats> stats() {
+		Map<String, CategoryStats> out = new LinkedHashMap<>();
+		for (Category category : Category.values()) {
+			Cache<String, PdbEntry> cache = caches.get(category);
+			Counters c = counters.get(category);
+			boolean withDisk = category == Category.RECORD_PDB && disk != null;
+			Optional<Policy.Eviction<String, PdbEntry>> eviction = cache.policy().eviction();
+			out.put(category.property, new CategoryStats(
+					c.hits.sum(),
+					c.misses.sum(),
+					c.diskHits.sum(),
+					c.coalescedWaits.sum(),
+					c.loadFailures.sum(),
+					c.loadNanos.sum() / 1_000_000.0,
+					cache.stats().evictionCount(),
+					cache.estimatedSize(),
+					eviction.map(e -> e.weightedSize().orElse(0L)).orElse(0L),
+					eviction.map(Policy.Eviction::getMaximum).orElse(0L),
+					withDisk ? disk.entryCount() : 0,
+					withDisk ? disk.sizeOnDisk() : 0));
+		}
+		return out;
+	}
+
+	private static final class Counters {
+		final LongAdder hits = new LongAdder();
+		final LongAdder misses = new LongAdder();
+		final LongAdder diskHits = new LongAdder();
+		final LongAdder coalescedWaits = new LongAdder();
+		final LongAdder loadFailures = new LongAdder();
+		final LongAdder loadNanos = new LongAdder();
 	}
 }
@@ -0,0 +1,320 @@
+package edu.itesm.accelerated_drug_design_backend.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local disk tier for PDB entries evicted from heap. Entries are appended to fixed-size segment files
+ * ({@code segment-<id>.dat}), each preallocated and memory-mapped; an in-memory index maps every key to
+ * its latest record. Removals append a tombstone. Records carry a CRC so that a torn tail is ignored when
+ * the segments are replayed on startup, which is how the index survives restarts. When the total size
+ * exceeds the budget the oldest segment is deleted with all its entries (FIFO), and their keys are reported
+ * to the {@code onDropped} listener.
+ * <p>
+ * Every entry is stored with the SHA-256 of its text and {@link #get} only returns it for the expected hash,
+ * so entries that outlived their DB rows (DB re-created, ids reused) are never served.
+ * <p>
+ * Record layout: magic, crc, key length, hash length, data length, text length, flags, key bytes, hash
+ * bytes (hex), data bytes (the {@link PdbEntry} stored bytes, gzip or plain). Segments written with an older
+ * layout have other magic numbers and replay as empty. Writes are serialized; reads are lock-free absolute
+ * reads on the mapped buffers. The directory must not be shared between processes.
+ */
+final class PdbDiskStore implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(PdbDiskStore.class);
+
+	private static final int MAGIC_PUT = 0x50444233;
+	private static final int MAGIC_TOMBSTONE = 0x50444232;
+	private static final int HEADER_BYTES = 7 * Integer.BYTES;
+	private static final int FLAG_GZIP = 1;
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".dat";
+
+	private static final class Segment {
+		final long id;
+		final Path path;
+		final FileChannel channel;
+		final MappedByteBuffer buffer;
+		/** Next write offset; only used by the writer (guarded by the store). */
+		int writePosition;
+
+		Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+			this.id = id;
+			this.path = path;
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+	}
+
+	private record Location(Segment segment, int offset, int keyLength, int hashLength, int dataLength,
+			int textLength, boolean gzip, String sha256) {
+
+		int dataOffset() {
+			return offset + HEADER_BYTES + keyLength + hashLength;
+		}
+	}
+
+	private final Path dir;
+	private final int segmentBytes;
+	private final int maxSegments;
+	/** Called (on the writing thread, store locked) with the keys of each dropped segment. */
+	private final Consumer<Collection<String>> onDropped;
+	private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+	/** Oldest first; the last one is the active (append) segment. Guarded by this. */
+	private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+
+	private PdbDiskStore(Path dir, int segmentBytes, int maxSegments, Consumer<Collection<String>> onDropped) {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		this.maxSegments = maxSegments;
+		this.onDropped = onDropped;
+	}
+
+	/**
+	 * Opens (or creates) the store in {@code dir}, replaying existing segments into the index.
+	 * {@code onDropped} receives the keys removed whenever old segments are deleted.
+	 */
+	static PdbDiskStore open(Path dir, long segmentBytes, long maxBytes, Consumer<Collection<String>> onDropped)
+			throws IOException {
+		int segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(1L << 20, segmentBytes));
+		int maxSegments = (int) Math.max(2, maxBytes / segmentSize);
+		PdbDiskStore store = new PdbDiskStore(dir, segmentSize, maxSegments, onDropped);
+		Files.createDirectories(dir);
+		List<Path> files;
+		try (Stream<Path> list = Files.list(dir)) {
+			files = list.filter(p -> segmentId(p) >= 0)
+					.sorted(Comparator.comparingLong(PdbDiskStore::segmentId))
+					.toList();
+		}
+		for (Path file : files) {
+			Segment segment = store.mapSegment(segmentId(file), file);
+			store.replay(segment);
+			store.segments.addLast(segment);
+		}
+		synchronized (store) {
+			store.dropOldSegments();
+		}
+		log.info("PDB disk cache opened at {}: {} entries in {} segments", dir, store.index.size(), store.segments.size());
+		return store;
+	}
+
+	private static long segmentId(Path file) {
+		String name = file.getFileName().toString();
+		if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+		try {
+			return Long.parseLong(name, SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length(), 10);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private Segment mapSegment(long id, Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long size = Math.max(channel.size(), segmentBytes);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+		return new Segment(id, path, channel, buffer);
+	}
+
+	/** Applies the segment's valid records to the index, stopping at the first empty or corrupt record. */
+	private void replay(Segment segment) {
+		MappedByteBuffer buf = segment.buffer;
+		int pos = 0;
+		while (pos + HEADER_BYTES <= buf.capacity()) {
+			int magic = buf.getInt(pos);
+			if (magic != MAGIC_PUT && magic != MAGIC_TOMBSTONE) break;
+			int crc = buf.getInt(pos + 4);
+			int keyLength = buf.getInt(pos + 8);
+			int hashLength = buf.getInt(pos + 12);
+			int dataLength = buf.getInt(pos + 16);
+			int textLength = buf.getInt(pos + 20);
+			int flags = buf.getInt(pos + 24);
+			if (keyLength <= 0 || hashLength < 0 || dataLength < 0
+					|| (long) pos + HEADER_BYTES + keyLength + hashLength + dataLength > buf.capacity()) break;
+			byte[] key = new byte[keyLength];
+			byte[] hash = new byte[hashLength];
+			byte[] data = new byte[dataLength];
+			buf.get(pos + HEADER_BYTES, key);
+			buf.get(pos + HEADER_BYTES + keyLength, hash);
+			buf.get(pos + HEADER_BYTES + keyLength + hashLength, data);
+			if (crc(key, hash, data) != crc) break;
+
+			String k = new String(key, StandardCharsets.UTF_8);
+			if (magic == MAGIC_PUT) {
+				index.put(k, new Location(segment, pos, keyLength, hashLength, dataLength, textLength,
+						(flags & FLAG_GZIP) != 0, new String(hash, StandardCharsets.US_ASCII)));
+			} else {
+				index.remove(k);
+			}
+			pos += HEADER_BYTES + keyLength + hashLength + dataLength;
+		}
+		segment.writePosition = pos;
+	}
+
+	/**
+	 * Entry stored under the key if its content hash is {@code sha256}, read from the mapped segment. An entry
+	 * with another hash is stale: it is dropped from the index (not rewritten) and the lookup misses. A null
+	 * {@code sha256} cannot be verified and always misses.
+	 */
+	Optional<PdbEntry> get(String key, String sha256) {
+		Location loc = index.get(key);
+		if (loc == null || sha256 == null) return Optional.empty();
+		if (!sha256.equals(loc.sha256())) {
+			index.remove(key, loc);
+			return Optional.empty();
+		}
+		byte[] data = new byte[loc.dataLength()];
+		loc.segment().buffer.get(loc.dataOffset(), data);
+		return Optional.of(PdbEntry.ofStored(data, loc.gzip(), loc.textLength(), loc.sha256()));
+	}
+
+	/**
+	 * Appends the entry, which must carry its content hash; returns false if it has none, does not fit in a
+	 * segment or the write fails.
+	 */
+	synchronized boolean put(String key, PdbEntry entry) {
+		if (entry.sha256() == null) return false;
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		byte[] hash = entry.sha256().getBytes(StandardCharsets.US_ASCII);
+		byte[] data = entry.storedData();
+		try {
+			Location loc = append(MAGIC_PUT, keyBytes, hash, data, entry.textLength(), entry.isGzip() ? FLAG_GZIP : 0);
+			if (loc == null) return false;
+			index.put(key, loc);
+			return true;
+		} catch (IOException | UncheckedIOException e) {
+			log.warn("PDB disk cache write failed for {}: {}", key, e.getMessage());
+			return false;
+		}
+	}
+
+	/** Removes the keys (appending a tombstone for each one present). */
+	synchronized void removeAll(Collection<String> keys) {
+		for (String key : keys) {
+			if (index.remove(key) == null) continue;
+			try {
+				append(MAGIC_TOMBSTONE, key.getBytes(StandardCharsets.UTF_8), new byte[0], new byte[0], 0, 0);
+			} catch (IOException | UncheckedIOException e) {
+				log.warn("PDB disk cache tombstone failed for {}: {}", key, e.getMessage());
+			}
+		}
+	}
+
+	/** Keys currently stored (snapshot). */
+	Set<String> keys() {
+		return Set.copyOf(index.keySet());
+	}
+
+	int entryCount() {
+		return index.size();
+	}
+
+	synchronized long sizeOnDisk() {
+		return (long) segments.size() * segmentBytes;
+	}
+
+	private Location append(int magic, byte[] key, byte[] hash, byte[] data, int textLength, int flags)
+			throws IOException {
+		int size = HEADER_BYTES + key.length + hash.length + data.length;
+		if (size > segmentBytes) return null;
+		Segment active = segments.peekLast();
+		if (active == null || active.writePosition + size > active.buffer.capacity()) {
+			active = rollSegment();
+		}
+		MappedByteBuffer buf = active.buffer;
+		int pos = active.writePosition;
+		int end = pos + size;
+		// Clear the next header first so a replay never runs past this record into stale bytes
+		if (end + Integer.BYTES <= buf.capacity()) {
+			buf.putInt(end, 0);
+		}
+		buf.put(pos + HEADER_BYTES, key);
+		buf.put(pos + HEADER_BYTES + key.length, hash);
+		buf.put(pos + HEADER_BYTES + key.length + hash.length, data);
+		buf.putInt(pos + 4, crc(key, hash, data));
+		buf.putInt(pos + 8, key.length);
+		buf.putInt(pos + 12, hash.length);
+		buf.putInt(pos + 16, data.length);
+		buf.putInt(pos + 20, textLength);
+		buf.putInt(pos + 24, flags);
+		buf.putInt(pos, magic);
+		active.writePosition = end;
+		return new Location(active, pos, key.length, hash.length, data.length, textLength,
+				(flags & FLAG_GZIP) != 0, new String(hash, StandardCharsets.US_ASCII));
+	}
+
+	private Segment rollSegment() throws IOException {
+		Segment last = segments.peekLast();
+		long id = last != null ? last.id + 1 : 0;
+		Segment segment = mapSegment(id, dir.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX));
+		segments.addLast(segment);
+		dropOldSegments();
+		return segment;
+	}
+
+	/** Deletes the oldest segments beyond the budget, dropping their entries from the index. */
+	private void dropOldSegments() {
+		while (segments.size() > maxSegments) {
+			Segment oldest = segments.pollFirst();
+			List<String> dropped = new ArrayList<>();
+			index.entrySet().removeIf(e -> {
+				if (e.getValue().segment() != oldest) return false;
+				dropped.add(e.getKey());
+				return true;
+			});
+			if (!dropped.isEmpty() && onDropped != null) {
+				try {
+					onDropped.accept(dropped);
+				} catch (RuntimeException e) {
+					log.warn("PDB disk cache drop listener failed: {}", e.getMessage());
+				}
+			}
+			try {
+				oldest.channel.close();
+				Files.deleteIfExists(oldest.path);
+			} catch (IOException e) {
+				log.warn("Could not delete PDB disk cache segment {}: {}", oldest.path, e.getMessage());
+			}
+		}
+	}
+
+	private static int crc(byte[] key, byte[] hash, byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(key);
+		crc.update(hash);
+		crc.update(data);
+		return (int) crc.getValue();
+	}
+
+	@Override
+	public synchronized void close() {
+		for (Segment segment : segments) {
+			try {
+				segment.buffer.force();
+				segment.channel.close();
+			} catch (IOException | UncheckedIOException e) {
+				log.warn("Could not flush PDB disk cache segment {}: {}", segment.path, e.getMessage());
+			}
+		}
+	}
+}
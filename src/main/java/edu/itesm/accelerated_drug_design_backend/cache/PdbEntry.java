@@ -0,0 +1,110 @@
+package edu.itesm.accelerated_drug_design_backend.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cached PDB text held as bytes: gzip-compressed (PDB text is very repetitive, typically 4–6x smaller) or
+ * plain UTF-8. The text is decoded only when read; gzip bytes can be sent as-is to clients that accept
+ * {@code Content-Encoding: gzip}. Entries may carry the SHA-256 of their text (record PDBs do), so a read can
+ * check them against the hash stored in the DB. Immutable.
+ */
+public final class PdbEntry {
+
+	public enum Compression { GZIP, NONE }
+
+	private final byte[] data;
+	private final boolean gzip;
+	private final int textLength;
+	/** Hex SHA-256 of the text, or null when not computed. */
+	private final String sha256;
+
+	private PdbEntry(byte[] data, boolean gzip, int textLength, String sha256) {
+		this.data = data;
+		this.gzip = gzip;
+		this.textLength = textLength;
+		this.sha256 = sha256;
+	}
+
+	/** Encodes the text with the given compression; level is the Deflater level (1 = fastest, 9 = smallest). */
+	public static PdbEntry of(String text, Compression compression, int level) {
+		byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+		if (compression == Compression.NONE) {
+			return new PdbEntry(raw, false, text.length(), null);
+		}
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+		try (GZIPOutputStream gz = new LeveledGzipOutputStream(bos, level)) {
+			gz.write(raw);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new PdbEntry(bos.toByteArray(), true, text.length(), null);
+	}
+
+	/** Entry from bytes previously obtained with {@link #storedData()} (e.g. read back from the disk tier). */
+	static PdbEntry ofStored(byte[] data, boolean gzip, int textLength, String sha256) {
+		return new PdbEntry(data, gzip, textLength, sha256);
+	}
+
+	/** Same entry tagged with the SHA-256 of its text. */
+	PdbEntry withSha256(String sha256) {
+		return new PdbEntry(data, gzip, textLength, sha256);
+	}
+
+	/** Decoded PDB text (decompressed on each call). */
+	public String text() {
+		if (!gzip) {
+			return new String(data, StandardCharsets.UTF_8);
+		}
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data), 8192)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public boolean isGzip() {
+		return gzip;
+	}
+
+	/** Gzip body for {@code Content-Encoding: gzip}; only valid when {@link #isGzip()}. Do not modify. */
+	public byte[] gzipBytes() {
+		if (!gzip) {
+			throw new IllegalStateException("Entry is not gzip-compressed");
+		}
+		return data;
+	}
+
+	/** Stored bytes (gzip or UTF-8 text). Do not modify. */
+	byte[] storedData() {
+		return data;
+	}
+
+	/** Size of the stored bytes. */
+	public int storedBytes() {
+		return data.length;
+	}
+
+	public int textLength() {
+		return textLength;
+	}
+
+	/** Hex SHA-256 of the text, or null if the entry was stored without it. */
+	String sha256() {
+		return sha256;
+	}
+
+	private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+		LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+			super(out, 8192);
+			def.setLevel(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level)));
+		}
+	}
+}
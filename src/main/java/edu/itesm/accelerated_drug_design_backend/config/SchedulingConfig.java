@@ -0,0 +1,10 @@
+package edu.itesm.accelerated_drug_design_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables @Scheduled tasks (e.g. the background run status poller). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
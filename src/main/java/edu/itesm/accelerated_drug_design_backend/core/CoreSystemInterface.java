@@ -1,9 +1,11 @@
 package edu.itesm.accelerated_drug_design_backend.core;
 
+import edu.itesm.accelerated_drug_design_backend.dto.MpnnDetailRecord;
 import edu.itesm.accelerated_drug_design_backend.dto.ProteinMpnnRunRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.RfdiffusionRunRequest;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface for all HTTP communication with the external core system
@@ -30,18 +32,23 @@ public interface CoreSystemInterface {
 	/**
 	 * Get MPNN run status (overall only). Returns null if the request fails.
 	 * When COMPLETED, response includes summary (fasta_content, best_pdb_content) and pagination (total_records, total_batches).
-	 * Detail records are fetched separately via {@link #getMpnnStatusDetail(String, int)}.
+	 * Detail records are fetched separately via {@link #streamMpnnStatusDetail(String, int, Consumer)}.
 	 *
 	 * @param runId run identifier
 	 */
 	Map<String, Object> getMpnnStatus(String runId);
 
 	/**
-	 * Get one batch of MPNN detail records for a completed run. Returns null if the request fails.
-	 * Response contains "detail" array and "pagination" (total_records, total_batches, batch_size).
+	 * Get one batch of MPNN detail records for a completed run. The response body ("detail" array and
+	 * "pagination" with total_records, total_batches, batch_size) is parsed incrementally and each detail
+	 * record is handed to {@code sink} as soon as it has been read, so only one record is materialized at a time.
+	 * Records without "n" are skipped.
+	 * Returns false if the request or the parsing fails (records already emitted stay emitted).
+	 * Exceptions thrown by the sink propagate to the caller.
 	 *
 	 * @param runId run identifier
 	 * @param batch 0-based batch index
+	 * @param sink  receives the records in response order
 	 */
-	Map<String, Object> getMpnnStatusDetail(String runId, int batch);
+	boolean streamMpnnStatusDetail(String runId, int batch, Consumer<MpnnDetailRecord> sink);
 }
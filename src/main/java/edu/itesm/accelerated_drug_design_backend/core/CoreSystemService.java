@@ -1,5 +1,6 @@
 package edu.itesm.accelerated_drug_design_backend.core;
 
+import edu.itesm.accelerated_drug_design_backend.dto.MpnnDetailRecord;
 import edu.itesm.accelerated_drug_design_backend.dto.ProteinMpnnRunRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.RfdiffusionRunRequest;
 import org.slf4j.Logger;
@@ -7,12 +8,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link CoreSystemInterface} using RestTemplate.
@@ -28,11 +37,14 @@ public class CoreSystemService implements CoreSystemInterface {
 	private static final String MPNN_PATH = "/run/mpnn";
 
 	private final RestTemplate restTemplate;
+	private final ObjectMapper objectMapper;
 	private final String coreBaseUrl;
 
 	public CoreSystemService(RestTemplate restTemplate,
+			ObjectMapper objectMapper,
 			@Value("${app.core.base-url}") String coreBaseUrl) {
 		this.restTemplate = restTemplate;
+		this.objectMapper = objectMapper;
 		this.coreBaseUrl = coreBaseUrl != null ? coreBaseUrl.replaceAll("/$", "") : "";
 	}
 
@@ -89,15 +101,22 @@ public class CoreSystemService implements CoreSystemInterface {
 	}
 
 	@Override
-	public Map<String, Object> getMpnnStatusDetail(String runId, int batch) {
+	public boolean streamMpnnStatusDetail(String runId, int batch, Consumer<MpnnDetailRecord> sink) {
 		String url = getMpnnBase() + "/status/" + runId + "/detail?batch=" + batch;
 		try {
-			@SuppressWarnings("unchecked")
-			Map<String, Object> body = restTemplate.getForObject(url, Map.class);
-			return body != null ? body : new LinkedHashMap<>();
-		} catch (Exception e) {
-			log.warn("Failed to get MPNN status detail from {}: {}", url, e.getMessage(), e);
-			return null;
+			Integer count = restTemplate.execute(url, HttpMethod.GET,
+					request -> request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON)),
+					response -> {
+						try (InputStream body = response.getBody();
+							 JsonParser parser = objectMapper.createParser(body)) {
+							return MpnnDetailJsonReader.read(parser, sink);
+						}
+					});
+			log.debug("MPNN status detail {}: {} records streamed", url, count);
+			return true;
+		} catch (RestClientException | JacksonException e) {
+			log.warn("Failed to stream MPNN status detail from {}: {}", url, e.getMessage(), e);
+			return false;
 		}
 	}
 }
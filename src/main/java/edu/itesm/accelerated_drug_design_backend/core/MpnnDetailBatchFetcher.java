@@ -0,0 +1,142 @@
+package edu.itesm.accelerated_drug_design_backend.core;
+
+import edu.itesm.accelerated_drug_design_backend.dto.MpnnDetailRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fetches the MPNN detail batches of a completed run ({@link CoreSystemInterface#streamMpnnStatusDetail})
+ * with bounded parallelism on virtual threads. Each batch is parsed as a stream and its records are handed
+ * over one at a time through a single-slot queue, so a download in flight holds at most one parsed record.
+ * Records reach the consumer strictly in batch order (and therefore by n) on the calling thread, while up to
+ * {@code parallelism} following batches are already being downloaded. A new download starts only when a
+ * batch has been fully consumed. A batch that fails to download aborts the whole fetch with an
+ * {@link IllegalStateException}, so callers never see a partial run as complete.
+ */
+@Component
+public class MpnnDetailBatchFetcher {
+
+	private static final Logger log = LoggerFactory.getLogger(MpnnDetailBatchFetcher.class);
+
+	private static final Object END = new Object();
+	private static final Object FAILED = new Object();
+
+	/** Receives the detail records of each batch, in order, on the thread that called fetchInOrder. */
+	@FunctionalInterface
+	public interface RecordConsumer {
+		void accept(int batch, MpnnDetailRecord record);
+	}
+
+	private final CoreSystemInterface coreSystem;
+	private final int parallelism;
+
+	public MpnnDetailBatchFetcher(CoreSystemInterface coreSystem,
+			@Value("${app.core.detail-fetch-parallelism:4}") int parallelism) {
+		this.coreSystem = coreSystem;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/** Streams every batch to the consumer; IllegalStateException if any batch cannot be fully downloaded. */
+	public void fetchInOrder(String runId, int totalBatches, RecordConsumer consumer) {
+		if (totalBatches <= 0) {
+			return;
+		}
+		BatchStream[] streams = new BatchStream[totalBatches];
+		long[] latenciesMs = new long[totalBatches];
+		long start = System.nanoTime();
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			int window = Math.min(parallelism, totalBatches);
+			for (int b = 0; b < window; b++) {
+				streams[b] = start(executor, runId, b, latenciesMs);
+			}
+			for (int b = 0; b < totalBatches; b++) {
+				BatchStream stream = streams[b];
+				for (Object item = stream.take(); item != END; item = stream.take()) {
+					if (item == FAILED) {
+						throw new IllegalStateException("MPNN detail runId=" + runId + " batch=" + b
+								+ " could not be downloaded", stream.failure);
+					}
+					consumer.accept(b, (MpnnDetailRecord) item);
+				}
+				streams[b] = null;
+				int next = b + window;
+				if (next < totalBatches) {
+					streams[next] = start(executor, runId, next, latenciesMs);
+				}
+			}
+		} finally {
+			// Interrupts downloads still blocked on their hand-off queue if the consumer failed
+			executor.shutdownNow();
+		}
+
+		long totalMs = (System.nanoTime() - start) / 1_000_000;
+		long maxMs = 0;
+		long sumMs = 0;
+		for (long ms : latenciesMs) {
+			sumMs += ms;
+			maxMs = Math.max(maxMs, ms);
+		}
+		log.info("MPNN detail for runId={}: {} batches in {} ms (parallelism={}, batch latency avg={} ms, max={} ms)",
+				runId, totalBatches, totalMs, parallelism, sumMs / totalBatches, maxMs);
+	}
+
+	private BatchStream start(ExecutorService executor, String runId, int batch, long[] latenciesMs) {
+		BatchStream stream = new BatchStream();
+		executor.execute(() -> {
+			long t0 = System.nanoTime();
+			boolean ok = false;
+			try {
+				ok = coreSystem.streamMpnnStatusDetail(runId, batch, stream::put);
+			} catch (CancellationException e) {
+				return;
+			} catch (RuntimeException e) {
+				log.warn("MPNN detail runId={} batch={} failed: {}", runId, batch, e.getMessage(), e);
+				stream.failure = e;
+			}
+			// Latency covers the whole download, including time blocked while the consumer catches up
+			latenciesMs[batch] = (System.nanoTime() - t0) / 1_000_000;
+			log.debug("MPNN detail runId={} batch={} streamed in {} ms", runId, batch, latenciesMs[batch]);
+			try {
+				stream.put(ok ? END : FAILED);
+			} catch (CancellationException ignored) {
+				// consumer gave up
+			}
+		});
+		return stream;
+	}
+
+	/** Single-slot hand-off between one download and the consumer. */
+	private static final class BatchStream {
+		private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(1);
+		/** Cause of a failed download; written before FAILED is handed over. */
+		volatile RuntimeException failure;
+
+		void put(Object item) {
+			try {
+				queue.put(item);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("MPNN detail download cancelled");
+			}
+		}
+
+		Object take() {
+			try {
+				return queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while waiting for MPNN detail records");
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package edu.itesm.accelerated_drug_design_backend.core;
+
+import edu.itesm.accelerated_drug_design_backend.dto.MpnnDetailRecord;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pull parser for the MPNN detail response: { "detail": [ {record}, ... ], "pagination": {...} }.
+ * Walks the token stream and builds one {@link MpnnDetailRecord} at a time; unknown fields and the
+ * rest of the document are skipped without being materialized.
+ * <p>
+ * The records come from the first non-null key in the order {@code detail}, {@code records},
+ * {@code detail_records}, wherever they appear in the document; if that value is not an array there are no
+ * records. {@code detail} is streamed straight to the sink; the fallback keys are buffered until the end
+ * of the document, since a higher-priority key may still follow.
+ */
+final class MpnnDetailJsonReader {
+
+	/** Keys holding the record array, highest priority first (as the map-based reader looked them up). */
+	private static final List<String> RECORD_ARRAY_KEYS = List.of("detail", "records", "detail_records");
+
+	private MpnnDetailJsonReader() {
+	}
+
+	/** Reads the whole document, emitting each record to the sink. Returns the number of records emitted. */
+	static int read(JsonParser p, Consumer<MpnnDetailRecord> sink) {
+		if (p.nextToken() != JsonToken.START_OBJECT) {
+			return 0;
+		}
+		int emitted = 0;
+		// Priority of the winning key so far (lower wins); RECORD_ARRAY_KEYS.size() = none seen yet
+		int chosen = RECORD_ARRAY_KEYS.size();
+		List<MpnnDetailRecord> buffered = null;
+		for (JsonToken t = p.nextToken(); t != null && t != JsonToken.END_OBJECT; t = p.nextToken()) {
+			String name = p.currentName();
+			JsonToken value = p.nextToken();
+			int priority = RECORD_ARRAY_KEYS.indexOf(name);
+			if (priority < 0 || priority >= chosen || value == JsonToken.VALUE_NULL) {
+				p.skipChildren();
+				continue;
+			}
+			chosen = priority;
+			buffered = null;
+			if (value != JsonToken.START_ARRAY) {
+				p.skipChildren();
+			} else if (priority == 0) {
+				emitted = readRecords(p, sink);
+			} else {
+				buffered = new ArrayList<>();
+				readRecords(p, buffered::add);
+			}
+		}
+		if (buffered != null) {
+			buffered.forEach(sink);
+			emitted = buffered.size();
+		}
+		return emitted;
+	}
+
+	private static int readRecords(JsonParser p, Consumer<MpnnDetailRecord> sink) {
+		int emitted = 0;
+		for (JsonToken t = p.nextToken(); t != null && t != JsonToken.END_ARRAY; t = p.nextToken()) {
+			if (t != JsonToken.START_OBJECT) {
+				p.skipChildren();
+				continue;
+			}
+			MpnnDetailRecord record = readRecord(p);
+			if (record != null) {
+				sink.accept(record);
+				emitted++;
+			}
+		}
+		return emitted;
+	}
+
+	private static MpnnDetailRecord readRecord(JsonParser p) {
+		Integer n = null;
+		String seq = null, mpnn = null, pdbContent = null, pdb = null, pdbPath = null, pae = null, iPae = null, metricsIPae = null;
+		Double plddt = null, ptm = null, iPtm = null, rmsd = null;
+
+		for (JsonToken t = p.nextToken(); t != null && t != JsonToken.END_OBJECT; t = p.nextToken()) {
+			String name = p.currentName();
+			JsonToken value = p.nextToken();
+			switch (name) {
+				case "n" -> n = readInteger(p, value);
+				case "seq" -> seq = readText(p, value);
+				case "mpnn" -> mpnn = readText(p, value);
+				case "pdb_content" -> pdbContent = readText(p, value);
+				case "pdb" -> pdb = readText(p, value);
+				case "pdb_path" -> pdbPath = readText(p, value);
+				case "plddt" -> plddt = readDouble(p, value);
+				case "ptm" -> ptm = readDouble(p, value);
+				case "i_ptm" -> iPtm = readDouble(p, value);
+				case "pae" -> pae = readText(p, value);
+				case "i_pae" -> iPae = readText(p, value);
+				case "rmsd" -> rmsd = readDouble(p, value);
+				case "metrics" -> metricsIPae = readNestedText(p, value, "i_pae");
+				default -> p.skipChildren();
+			}
+		}
+		if (n == null) {
+			return null;
+		}
+		String pdbVal = pdbContent != null ? pdbContent : (pdb != null ? pdb : pdbPath);
+		return new MpnnDetailRecord(n, seq, mpnn, pdbVal, plddt, ptm, iPtm, pae, iPae != null ? iPae : metricsIPae, rmsd);
+	}
+
+	private static String readNestedText(JsonParser p, JsonToken value, String key) {
+		if (value != JsonToken.START_OBJECT) {
+			p.skipChildren();
+			return null;
+		}
+		String found = null;
+		for (JsonToken t = p.nextToken(); t != null && t != JsonToken.END_OBJECT; t = p.nextToken()) {
+			String name = p.currentName();
+			JsonToken v = p.nextToken();
+			if (found == null && key.equals(name)) {
+				found = readText(p, v);
+			} else {
+				p.skipChildren();
+			}
+		}
+		return found;
+	}
+
+	private static String readText(JsonParser p, JsonToken value) {
+		if (value == null || value == JsonToken.VALUE_NULL) return null;
+		if (!value.isScalarValue()) {
+			p.skipChildren();
+			return null;
+		}
+		return p.getValueAsString();
+	}
+
+	private static Double readDouble(JsonParser p, JsonToken value) {
+		if (value != null && value.isNumeric()) return p.getDoubleValue();
+		String s = readText(p, value);
+		if (s == null || s.isBlank()) return null;
+		try {
+			return Double.parseDouble(s.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static Integer readInteger(JsonParser p, JsonToken value) {
+		if (value == JsonToken.VALUE_NUMBER_INT) return p.getIntValue();
+		if (value != null && value.isNumeric()) return (int) p.getDoubleValue();
+		String s = readText(p, value);
+		if (s == null) return null;
+		try {
+			return Integer.parseInt(s.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+/**
+ * Request para análisis por bins de varias métricas a la vez.
+ * metrics: métrica (mpnn, plddt, ptm, i_ptm, pae, i_pae, rmsd) -> sus bins y labels, p.ej.
+ * {"plddt": {"bins": [0, 50, 70, 90, 100], "labels": ["very low", "low", "confident", "very high"]}}.
+ */
+public record BinsBatchRequest(
+	@NotNull(message = "metrics is required")
+	@NotEmpty(message = "metrics must not be empty")
+	Map<String, @Valid BinsRequest> metrics
+) {}
@@ -0,0 +1,11 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * Hash SHA-256 de un contenido de texto (PDB, FASTA) y estado de la corrida que lo produjo, para responder
+ * peticiones condicionales (ETag / If-None-Match) sin leer el LONGTEXT. sha256 es null si no hay contenido
+ * o si la fila es anterior a las columnas de hash y no se ha hecho el backfill.
+ */
+public record ContentVersionDto(
+	String sha256,
+	String status
+) {}
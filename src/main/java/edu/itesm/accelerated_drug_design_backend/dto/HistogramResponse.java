@@ -0,0 +1,20 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Respuesta para el endpoint de histograma: conteos calculados en el servidor en lugar de enviar todos los valores.
+ * edges tiene counts.size() + 1 bordes; cada bin es [edges[i], edges[i+1]) salvo el último, que incluye su borde derecho.
+ * total es el número de valores de la métrica (incluye los que quedan fuera de edges explícitos).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HistogramResponse(
+	String columnName,
+	List<Double> edges,
+	List<Long> counts,
+	Double min,
+	Double max,
+	long total
+) {}
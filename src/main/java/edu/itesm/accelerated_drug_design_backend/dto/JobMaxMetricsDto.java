@@ -0,0 +1,10 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * Máximo pTM e iPTM de los registros de un job, para el listado de jobs (una fila por job).
+ */
+public record JobMaxMetricsDto(
+	Long generationJobId,
+	Double maxPtm,
+	Double maxIPtm
+) {}
@@ -0,0 +1,19 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * One record of the core's MPNN detail response (GET /run/mpnn/status/{run_id}/detail?batch=N),
+ * read field by field from the JSON stream. pdb is pdb_content when present, else pdb, else pdb_path.
+ * iPae falls back to metrics.i_pae when the record nests its metrics.
+ */
+public record MpnnDetailRecord(
+	int n,
+	String seq,
+	String mpnn,
+	String pdb,
+	Double plddt,
+	Double ptm,
+	Double iPtm,
+	String pae,
+	String iPae,
+	Double rmsd
+) {}
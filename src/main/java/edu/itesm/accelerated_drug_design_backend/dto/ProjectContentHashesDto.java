@@ -0,0 +1,7 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * Hashes SHA-256 de target y complex de un proyecto (null si no hay contenido o no se ha hecho el backfill),
+ * para saber si cambiaron sin leer los LONGTEXT.
+ */
+public record ProjectContentHashesDto(String targetSha256, String complexSha256) {}
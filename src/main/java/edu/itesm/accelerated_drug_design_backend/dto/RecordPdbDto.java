@@ -0,0 +1,9 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * PDB de un registro (n) de un job, para exportaciones que recorren los registros con un cursor.
+ */
+public record RecordPdbDto(
+	Integer n,
+	String pdb
+) {}
@@ -0,0 +1,10 @@
+package edu.itesm.accelerated_drug_design_backend.dto;
+
+/**
+ * Referencia a una corrida en el core (RFdiffusion o MPNN): proyecto y runId.
+ * Usado por el poller en segundo plano para listar corridas activas sin cargar entidades.
+ */
+public record RunRef(
+	Long projectId,
+	String runId
+) {}
@@ -44,6 +44,11 @@ public class Backbone {
 	@JsonIgnore
 	private String structure;
 
+	/** SHA-256 de structure (se llena al asignar structure), para ETag sin leer el LONGTEXT. */
+	@Column(name = "structure_sha256", length = 64)
+	@JsonIgnore
+	private String structureSha256;
+
 	@PrePersist
 	void prePersist() {
 		// Placeholder; actual BB_id set in postPersist
@@ -145,5 +150,10 @@ public class Backbone {
 
 	public void setStructure(String structure) {
 		this.structure = structure;
+		this.structureSha256 = ContentHash.sha256(structure);
+	}
+
+	public String getStructureSha256() {
+		return structureSha256;
 	}
 }
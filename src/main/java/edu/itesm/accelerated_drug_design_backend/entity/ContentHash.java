@@ -0,0 +1,29 @@
+package edu.itesm.accelerated_drug_design_backend.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 of stored text content (UTF-8 bytes) as lowercase hex, the same value MySQL returns for
+ * {@code SHA2(col, 256)}. Entities keep it next to each LONGTEXT so ETags can be answered without the text.
+ */
+public final class ContentHash {
+
+	private ContentHash() {
+	}
+
+	/** Hex SHA-256 of the text, or null for null text. */
+	public static String sha256(String text) {
+		if (text == null) {
+			return null;
+		}
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(md.digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
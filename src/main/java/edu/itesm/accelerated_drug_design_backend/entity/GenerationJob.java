@@ -53,6 +53,16 @@ public class GenerationJob {
 	@Column(name = "best_pdb", columnDefinition = "LONGTEXT")
 	private String bestPdb;
 
+	/** SHA-256 de fasta (se llena al asignar fasta), para ETag sin leer el LONGTEXT. */
+	@Column(name = "fasta_sha256", length = 64)
+	@JsonIgnore
+	private String fastaSha256;
+
+	/** SHA-256 de best_pdb (se llena al asignar bestPdb). */
+	@Column(name = "best_pdb_sha256", length = 64)
+	@JsonIgnore
+	private String bestPdbSha256;
+
 	@Column(name = "total_records")
 	private Integer totalRecords;
 
@@ -145,6 +155,11 @@ public class GenerationJob {
 
 	public void setFasta(String fasta) {
 		this.fasta = fasta;
+		this.fastaSha256 = ContentHash.sha256(fasta);
+	}
+
+	public String getFastaSha256() {
+		return fastaSha256;
 	}
 
 	public String getBestPdb() {
@@ -153,6 +168,11 @@ public class GenerationJob {
 
 	public void setBestPdb(String bestPdb) {
 		this.bestPdb = bestPdb;
+		this.bestPdbSha256 = ContentHash.sha256(bestPdb);
+	}
+
+	public String getBestPdbSha256() {
+		return bestPdbSha256;
 	}
 
 	public Integer getTotalRecords() {
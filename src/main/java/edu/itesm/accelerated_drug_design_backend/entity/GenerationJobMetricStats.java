@@ -0,0 +1,193 @@
+package edu.itesm.accelerated_drug_design_backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Estadísticas descriptivas precalculadas de una métrica (ptm, i_ptm, pae, i_pae, plddt, rmsd, mpnn)
+ * para un job COMPLETED. Se calculan una vez al ingerir los registros y las leen los endpoints de EDA y el listado de jobs.
+ */
+@Entity
+@Table(name = "generation_job_metric_stats")
+@IdClass(GenerationJobMetricStatsId.class)
+public class GenerationJobMetricStats {
+
+	@Id
+	@Column(name = "generation_job_id")
+	private Long generationJobId;
+
+	@Id
+	@Column(name = "metric", length = 16)
+	private String metric;
+
+	@Column(name = "record_count")
+	private Long recordCount;
+
+	private Double mean;
+
+	private Double std;
+
+	@Column(name = "min_value")
+	private Double min;
+
+	private Double p25;
+
+	private Double p50;
+
+	private Double p75;
+
+	@Column(name = "max_value")
+	private Double max;
+
+	private Double skew;
+
+	private Double kurtosis;
+
+	private Double quality;
+
+	/** Sumas de potencias de desviaciones (momentos centrales sin normalizar) para combinar jobs. */
+	private Double m2;
+
+	private Double m3;
+
+	private Double m4;
+
+	/** t-digest serializado de la métrica (ver TDigest#toBytes), para percentiles multi-job. */
+	@Column(name = "digest", columnDefinition = "BLOB")
+	private byte[] digest;
+
+	public Long getGenerationJobId() {
+		return generationJobId;
+	}
+
+	public void setGenerationJobId(Long generationJobId) {
+		this.generationJobId = generationJobId;
+	}
+
+	public String getMetric() {
+		return metric;
+	}
+
+	public void setMetric(String metric) {
+		this.metric = metric;
+	}
+
+	public Long getRecordCount() {
+		return recordCount;
+	}
+
+	public void setRecordCount(Long recordCount) {
+		this.recordCount = recordCount;
+	}
+
+	public Double getMean() {
+		return mean;
+	}
+
+	public void setMean(Double mean) {
+		this.mean = mean;
+	}
+
+	public Double getStd() {
+		return std;
+	}
+
+	public void setStd(Double std) {
+		this.std = std;
+	}
+
+	public Double getMin() {
+		return min;
+	}
+
+	public void setMin(Double min) {
+		this.min = min;
+	}
+
+	public Double getP25() {
+		return p25;
+	}
+
+	public void setP25(Double p25) {
+		this.p25 = p25;
+	}
+
+	public Double getP50() {
+		return p50;
+	}
+
+	public void setP50(Double p50) {
+		this.p50 = p50;
+	}
+
+	public Double getP75() {
+		return p75;
+	}
+
+	public void setP75(Double p75) {
+		this.p75 = p75;
+	}
+
+	public Double getMax() {
+		return max;
+	}
+
+	public void setMax(Double max) {
+		this.max = max;
+	}
+
+	public Double getSkew() {
+		return skew;
+	}
+
+	public void setSkew(Double skew) {
+		this.skew = skew;
+	}
+
+	public Double getKurtosis() {
+		return kurtosis;
+	}
+
+	public void setKurtosis(Double kurtosis) {
+		this.kurtosis = kurtosis;
+	}
+
+	public Double getQuality() {
+		return quality;
+	}
+
+	public void setQuality(Double quality) {
+		this.quality = quality;
+	}
+
+	public Double getM2() {
+		return m2;
+	}
+
+	public void setM2(Double m2) {
+		this.m2 = m2;
+	}
+
+	public Double getM3() {
+		return m3;
+	}
+
+	public void setM3(Double m3) {
+		this.m3 = m3;
+	}
+
+	public Double getM4() {
+		return m4;
+	}
+
+	public void setM4(Double m4) {
+		this.m4 = m4;
+	}
+
+	public byte[] getDigest() {
+		return digest;
+	}
+
+	public void setDigest(byte[] digest) {
+		this.digest = digest;
+	}
+}
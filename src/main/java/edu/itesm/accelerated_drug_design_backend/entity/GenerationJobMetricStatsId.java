@@ -0,0 +1,52 @@
+package edu.itesm.accelerated_drug_design_backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for GenerationJobMetricStats (generation_job_id, metric).
+ */
+public class GenerationJobMetricStatsId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long generationJobId;
+	private String metric;
+
+	public GenerationJobMetricStatsId() {
+	}
+
+	public GenerationJobMetricStatsId(Long generationJobId, String metric) {
+		this.generationJobId = generationJobId;
+		this.metric = metric;
+	}
+
+	public Long getGenerationJobId() {
+		return generationJobId;
+	}
+
+	public void setGenerationJobId(Long generationJobId) {
+		this.generationJobId = generationJobId;
+	}
+
+	public String getMetric() {
+		return metric;
+	}
+
+	public void setMetric(String metric) {
+		this.metric = metric;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		GenerationJobMetricStatsId that = (GenerationJobMetricStatsId) o;
+		return Objects.equals(generationJobId, that.generationJobId) && Objects.equals(metric, that.metric);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(generationJobId, metric);
+	}
+}
@@ -24,8 +24,16 @@ public class GenerationJobRecord {
 	@Column(columnDefinition = "LONGTEXT")
 	private String pdb;
 
+	/** SHA-256 de pdb (se llena al asignar pdb), para ETag sin leer el LONGTEXT. */
+	@Column(name = "pdb_sha256", length = 64)
+	private String pdbSha256;
+
 	private String mpnn;
 
+	/** mpnn como número (se llena al asignar mpnn), para agregar y filtrar en SQL. */
+	@Column(name = "mpnn_value")
+	private Double mpnnValue;
+
 	private Double plddt;
 
 	private Double ptm;
@@ -39,6 +47,12 @@ public class GenerationJobRecord {
 	@Column(name = "i_pae", columnDefinition = "TEXT")
 	private String iPae;
 
+	@Column(name = "pae_value")
+	private Double paeValue;
+
+	@Column(name = "i_pae_value")
+	private Double iPaeValue;
+
 	private Double rmsd;
 
 	@Column(columnDefinition = "TEXT")
@@ -74,6 +88,12 @@ public class GenerationJobRecord {
 
 	public void setPdb(String pdb) {
 		this.pdb = pdb;
+		this.pdbSha256 = ContentHash.sha256(pdb);
+	}
+
+	@JsonIgnore
+	public String getPdbSha256() {
+		return pdbSha256;
 	}
 
 	public String getMpnn() {
@@ -82,6 +102,12 @@ public class GenerationJobRecord {
 
 	public void setMpnn(String mpnn) {
 		this.mpnn = mpnn;
+		this.mpnnValue = parseMetric(mpnn);
+	}
+
+	@JsonIgnore
+	public Double getMpnnValue() {
+		return mpnnValue;
 	}
 
 	public Double getPlddt() {
@@ -114,6 +140,12 @@ public class GenerationJobRecord {
 
 	public void setPae(String pae) {
 		this.pae = pae;
+		this.paeValue = parseMetric(pae);
+	}
+
+	@JsonIgnore
+	public Double getPaeValue() {
+		return paeValue;
 	}
 
 	public String getIPae() {
@@ -122,6 +154,12 @@ public class GenerationJobRecord {
 
 	public void setIPae(String iPae) {
 		this.iPae = iPae;
+		this.iPaeValue = parseMetric(iPae);
+	}
+
+	@JsonIgnore
+	public Double getIPaeValue() {
+		return iPaeValue;
 	}
 
 	public Double getRmsd() {
@@ -139,4 +177,15 @@ public class GenerationJobRecord {
 	public void setSeq(String seq) {
 		this.seq = seq;
 	}
+
+	/** Valor numérico de una métrica guardada como texto; null si está vacía o no es un número finito. */
+	static Double parseMetric(String s) {
+		if (s == null || s.isBlank()) return null;
+		try {
+			double v = Double.parseDouble(s.trim());
+			return Double.isFinite(v) ? v : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
 }
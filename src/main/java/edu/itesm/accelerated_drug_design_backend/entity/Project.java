@@ -1,5 +1,6 @@
 package edu.itesm.accelerated_drug_design_backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
@@ -19,6 +20,14 @@ public class Project {
 	@Column(columnDefinition = "LONGTEXT")
 	private String complex;
 
+	/** SHA-256 de target (se llena al asignar target), para ETag sin leer el LONGTEXT. */
+	@Column(name = "target_sha256", length = 64)
+	private String targetSha256;
+
+	/** SHA-256 de complex (se llena al asignar complex). */
+	@Column(name = "complex_sha256", length = 64)
+	private String complexSha256;
+
 	@Column(columnDefinition = "TEXT")
 	private String description;
 
@@ -44,6 +53,12 @@ public class Project {
 
 	public void setTarget(String target) {
 		this.target = target;
+		this.targetSha256 = ContentHash.sha256(target);
+	}
+
+	@JsonIgnore
+	public String getTargetSha256() {
+		return targetSha256;
 	}
 
 	public String getComplex() {
@@ -52,6 +67,12 @@ public class Project {
 
 	public void setComplex(String complex) {
 		this.complex = complex;
+		this.complexSha256 = ContentHash.sha256(complex);
+	}
+
+	@JsonIgnore
+	public String getComplexSha256() {
+		return complexSha256;
 	}
 
 	public String getDescription() {
@@ -1,6 +1,8 @@
 package edu.itesm.accelerated_drug_design_backend.repository;
 
 import edu.itesm.accelerated_drug_design_backend.dto.BackboneListDto;
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
+import edu.itesm.accelerated_drug_design_backend.dto.RunRef;
 import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -24,7 +26,18 @@ public interface BackboneRepository extends JpaRepository<Backbone, Long> {
 	@Query("SELECT b.structure FROM Backbone b WHERE b.project.id = :projectId AND b.id = :backboneId")
 	Optional<String> findStructureByProjectIdAndBackboneId(@Param("projectId") Long projectId, @Param("backboneId") Long backboneId);
 
+	/** Hash de structure y estado del backbone (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT new edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto(b.structureSha256, b.status) FROM Backbone b WHERE b.project.id = :projectId AND b.id = :backboneId")
+	Optional<ContentVersionDto> findStructureVersionByProjectIdAndBackboneId(@Param("projectId") Long projectId, @Param("backboneId") Long backboneId);
+
 	List<Backbone> findByProject_IdAndRunIDOrderByIdAsc(Long projectId, String runID);
 
 	Optional<Backbone> findByProject_IdAndId(Long projectId, Long id);
+
+	/** Corridas RFdiffusion aún no terminadas (ni COMPLETED ni ERROR), una por runID. */
+	@Query("""
+		SELECT DISTINCT new edu.itesm.accelerated_drug_design_backend.dto.RunRef(b.project.id, b.runID)
+		FROM Backbone b WHERE b.runID IS NOT NULL AND b.status NOT IN ('COMPLETED', 'ERROR')
+		""")
+	List<RunRef> findActiveRuns();
 }
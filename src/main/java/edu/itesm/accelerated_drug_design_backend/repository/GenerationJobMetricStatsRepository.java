@@ -0,0 +1,26 @@
+package edu.itesm.accelerated_drug_design_backend.repository;
+
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobMetricStats;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobMetricStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GenerationJobMetricStatsRepository extends JpaRepository<GenerationJobMetricStats, GenerationJobMetricStatsId> {
+
+	List<GenerationJobMetricStats> findByGenerationJobId(Long generationJobId);
+
+	List<GenerationJobMetricStats> findByGenerationJobIdIn(Collection<Long> generationJobIds);
+
+	/** Stats guardadas de todos los jobs del proyecto (para el listado de jobs). */
+	@Query("SELECT s FROM GenerationJobMetricStats s WHERE s.generationJobId IN (SELECT j.id FROM GenerationJob j WHERE j.project.id = :projectId)")
+	List<GenerationJobMetricStats> findByProjectId(@Param("projectId") Long projectId);
+
+	@Modifying
+	@Query("DELETE FROM GenerationJobMetricStats s WHERE s.generationJobId = :jobId")
+	int deleteAllByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,83 @@
+package edu.itesm.accelerated_drug_design_backend.repository;
+
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Bulk ingest path for generation_jobs_records. Writes new rows with JDBC-batched INSERTs
+ * (multi-row when the MySQL URL has rewriteBatchedStatements=true), bypassing the JPA
+ * merge/select that {@code save()} does for entities with the composite (generation_job_id, n) key.
+ * Only for rows that do not exist yet: callers delete the job's previous records first.
+ * Runs on the caller's transaction (JpaTransactionManager exposes its connection to JdbcTemplate).
+ */
+@Repository
+public class GenerationJobRecordBulkWriter {
+
+	private static final Logger log = LoggerFactory.getLogger(GenerationJobRecordBulkWriter.class);
+
+	private static final String INSERT_SQL = """
+		INSERT INTO generation_jobs_records
+			(generation_job_id, n, pdb, mpnn, plddt, ptm, i_ptm, pae, i_pae, rmsd, seq,
+			 mpnn_value, pae_value, i_pae_value, pdb_sha256)
+		VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int batchSize;
+
+	public GenerationJobRecordBulkWriter(JdbcTemplate jdbcTemplate,
+			@Value("${app.ingest.record-batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/** Inserts all records in JDBC batches of app.ingest.record-batch-size rows. Returns the number of rows written. */
+	public int insertAll(List<GenerationJobRecord> records) {
+		if (records == null || records.isEmpty()) {
+			return 0;
+		}
+		long t0 = System.nanoTime();
+		jdbcTemplate.batchUpdate(INSERT_SQL, records, batchSize, GenerationJobRecordBulkWriter::bind);
+		long elapsedNanos = System.nanoTime() - t0;
+		if (log.isDebugEnabled()) {
+			log.debug("Inserted {} generation_jobs_records in {} ms ({} rows/s)", records.size(),
+					elapsedNanos / 1_000_000, rowsPerSecond(records.size(), elapsedNanos));
+		}
+		return records.size();
+	}
+
+	public static long rowsPerSecond(long rows, long elapsedNanos) {
+		return elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+	}
+
+	private static void bind(PreparedStatement ps, GenerationJobRecord r) throws SQLException {
+		ps.setLong(1, r.getGenerationJobId());
+		ps.setInt(2, r.getN());
+		ps.setString(3, r.getPdb());
+		ps.setString(4, r.getMpnn());
+		ps.setObject(5, r.getPlddt(), Types.DOUBLE);
+		ps.setObject(6, r.getPtm(), Types.DOUBLE);
+		ps.setObject(7, r.getIPtm(), Types.DOUBLE);
+		ps.setString(8, r.getPae());
+		ps.setString(9, r.getIPae());
+		ps.setObject(10, r.getRmsd(), Types.DOUBLE);
+		ps.setString(11, r.getSeq());
+		ps.setObject(12, r.getMpnnValue(), Types.DOUBLE);
+		ps.setObject(13, r.getPaeValue(), Types.DOUBLE);
+		ps.setObject(14, r.getIPaeValue(), Types.DOUBLE);
+		ps.setString(15, r.getPdbSha256());
+	}
+}
@@ -1,16 +1,25 @@
 package edu.itesm.accelerated_drug_design_backend.repository;
 
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobRecordListDto;
+import edu.itesm.accelerated_drug_design_backend.dto.JobMaxMetricsDto;
+import edu.itesm.accelerated_drug_design_backend.dto.RecordPdbDto;
 import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobRecord;
 import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobRecordId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GenerationJobRecordRepository extends JpaRepository<GenerationJobRecord, GenerationJobRecordId> {
 
@@ -24,49 +33,77 @@ public interface GenerationJobRecordRepository extends JpaRepository<GenerationJ
 		""")
 	Page<GenerationJobRecordListDto> findRecordsListByJobId(@Param("jobId") Long jobId, Pageable pageable);
 
-	/** Listado sin pdb para construir CSV (todos los registros). */
+	/**
+	 * Listado sin pdb de todos los registros del job para construir CSV, como Stream sobre un cursor JDBC
+	 * (useCursorFetch=true en la URL), para exportar sin cargar todos los registros.
+	 * Debe consumirse y cerrarse dentro de una transacción.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
 	@Query("""
 		SELECT new edu.itesm.accelerated_drug_design_backend.dto.GenerationJobRecordListDto(
 			r.generationJobId, r.n, r.seq, r.mpnn, r.plddt, r.ptm, r.iPtm, r.pae, r.iPae, r.rmsd
 		) FROM GenerationJobRecord r WHERE r.generationJobId = :jobId ORDER BY r.n ASC
 		""")
-	List<GenerationJobRecordListDto> findRecordsListByJobIdAll(@Param("jobId") Long jobId);
+	Stream<GenerationJobRecordListDto> streamRecordsListByJobId(@Param("jobId") Long jobId);
 
 	/** Solo columna pdb del registro (n) del job, verificando que el job pertenezca al proyecto. */
 	@Query("SELECT r.pdb FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId AND r.n = :n")
 	Optional<String> findPdbByProjectIdJobIdAndN(@Param("projectId") Long projectId, @Param("jobId") Long jobId, @Param("n") Integer n);
 
+	/** Hash del pdb del registro (n) y estado del job (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT new edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto(r.pdbSha256, j.status) FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId AND r.n = :n")
+	Optional<ContentVersionDto> findPdbVersionByProjectIdJobIdAndN(@Param("projectId") Long projectId, @Param("jobId") Long jobId, @Param("n") Integer n);
+
+	/**
+	 * PDB de cada registro del job como Stream sobre un cursor de a una fila (fetch size 1),
+	 * para exportar sin tener más de un PDB en memoria. Debe consumirse y cerrarse dentro de una transacción.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1"))
+	@Query("""
+		SELECT new edu.itesm.accelerated_drug_design_backend.dto.RecordPdbDto(r.n, r.pdb)
+		FROM GenerationJobRecord r WHERE r.generationJobId = :jobId AND r.pdb IS NOT NULL ORDER BY r.n ASC
+		""")
+	Stream<RecordPdbDto> streamPdbsByJobId(@Param("jobId") Long jobId);
+
 	Page<GenerationJobRecord> findByGenerationJob_IdOrderByNAsc(Long generationJobId, Pageable pageable);
 
 	long countByGenerationJob_Id(Long generationJobId);
 
 	void deleteByGenerationJob_Id(Long generationJobId);
 
-	/** Solo columna plddt, para EDA. Job debe pertenecer al proyecto. */
-	@Query("SELECT r.plddt FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<Double> findPlddtByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.ptm FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<Double> findPtmByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.iPtm FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<Double> findIPtmByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.rmsd FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<Double> findRmsdByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.mpnn FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<String> findMpnnByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.pae FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<String> findPaeByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
-
-	@Query("SELECT r.iPae FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId ORDER BY r.n ASC")
-	List<String> findIPaeByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+	/** Borrado masivo en una sola sentencia (sin cargar las entidades ni sus PDB). */
+	@Modifying
+	@Query("DELETE FROM GenerationJobRecord r WHERE r.generationJobId = :jobId")
+	int deleteAllByJobId(@Param("jobId") Long jobId);
+
+	/**
+	 * Las siete métricas EDA de todos los registros del job en un solo recorrido (orden de n), como tuplas
+	 * (plddt, ptm, iPtm, rmsd, mpnn, pae, iPae) sobre un cursor JDBC, sin DTO por fila ni lista intermedia.
+	 * Job debe pertenecer al proyecto. Debe consumirse y cerrarse dentro de una transacción.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("""
+		SELECT r.plddt, r.ptm, r.iPtm, r.rmsd, r.mpnnValue, r.paeValue, r.iPaeValue
+		FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId
+		ORDER BY r.n ASC
+		""")
+	Stream<Object[]> streamMetricsByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
 
-	@Query("SELECT max(r.ptm) FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId")
-	Double findMaxPtmByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+	/** Igual que streamMetricsByProjectIdAndJobId pero para varios jobs del proyecto (dataset combinado), en orden de job y n. */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("""
+		SELECT r.plddt, r.ptm, r.iPtm, r.rmsd, r.mpnnValue, r.paeValue, r.iPaeValue
+		FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id IN :jobIds AND j.project.id = :projectId
+		ORDER BY j.id ASC, r.n ASC
+		""")
+	Stream<Object[]> streamMetricsByProjectIdAndJobIds(@Param("projectId") Long projectId, @Param("jobIds") Collection<Long> jobIds);
 
-	@Query("SELECT max(r.iPtm) FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.id = :jobId AND j.project.id = :projectId")
-	Double findMaxIPtmByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+	/** Máximo pTM / iPTM de todos los jobs del proyecto en una sola consulta agrupada (jobs sin registros no aparecen). */
+	@Query("""
+		SELECT new edu.itesm.accelerated_drug_design_backend.dto.JobMaxMetricsDto(
+			r.generationJobId, max(r.ptm), max(r.iPtm)
+		) FROM GenerationJobRecord r JOIN r.generationJob j WHERE j.project.id = :projectId
+		GROUP BY r.generationJobId
+		""")
+	List<JobMaxMetricsDto> findMaxMetricsByProjectId(@Param("projectId") Long projectId);
 }
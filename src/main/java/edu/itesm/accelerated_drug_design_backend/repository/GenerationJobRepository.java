@@ -1,12 +1,16 @@
 package edu.itesm.accelerated_drug_design_backend.repository;
 
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobDetailDto;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobListItem;
+import edu.itesm.accelerated_drug_design_backend.dto.RunRef;
 import edu.itesm.accelerated_drug_design_backend.entity.GenerationJob;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,4 +48,33 @@ public interface GenerationJobRepository extends JpaRepository<GenerationJob, Lo
 
 	@Query("SELECT j.fasta FROM GenerationJob j WHERE j.id = :jobId AND j.project.id = :projectId")
 	Optional<String> findFastaByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+
+	/** Hash de best_pdb y estado del job (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT new edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto(j.bestPdbSha256, j.status) FROM GenerationJob j WHERE j.id = :jobId AND j.project.id = :projectId")
+	Optional<ContentVersionDto> findBestPdbVersionByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+
+	/** Hash de fasta y estado del job (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT new edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto(j.fastaSha256, j.status) FROM GenerationJob j WHERE j.id = :jobId AND j.project.id = :projectId")
+	Optional<ContentVersionDto> findFastaVersionByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+
+	/** completed_at del job si ya está COMPLETED (Last-Modified del CSV de registros). */
+	@Query("SELECT j.completedAt FROM GenerationJob j WHERE j.id = :jobId AND j.project.id = :projectId AND j.status = 'COMPLETED'")
+	Optional<Instant> findCompletedAtByProjectIdAndJobId(@Param("projectId") Long projectId, @Param("jobId") Long jobId);
+
+	/** Corridas MPNN aún no terminadas (ni COMPLETED ni ERROR). */
+	@Query("""
+		SELECT new edu.itesm.accelerated_drug_design_backend.dto.RunRef(j.project.id, j.runId)
+		FROM GenerationJob j WHERE j.runId IS NOT NULL AND j.status NOT IN ('COMPLETED', 'ERROR')
+		""")
+	List<RunRef> findActiveRuns();
+
+	@Query("SELECT j.id FROM GenerationJob j WHERE j.project.id = :projectId ORDER BY j.id ASC")
+	List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+	@Query("SELECT j.id FROM GenerationJob j WHERE j.project.id = :projectId AND j.status = :status ORDER BY j.id ASC")
+	List<Long> findIdsByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") String status);
+
+	/** Cuántos de los jobs indicados pertenecen al proyecto (para validar una lista de jobs con una sola consulta). */
+	@Query("SELECT count(j) FROM GenerationJob j WHERE j.project.id = :projectId AND j.id IN :jobIds")
+	long countByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("jobIds") Collection<Long> jobIds);
 }
@@ -1,5 +1,6 @@
 package edu.itesm.accelerated_drug_design_backend.repository;
 
+import edu.itesm.accelerated_drug_design_backend.dto.ProjectContentHashesDto;
 import edu.itesm.accelerated_drug_design_backend.dto.ProjectSummaryDto;
 import edu.itesm.accelerated_drug_design_backend.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -26,4 +27,16 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 	/** Solo columna complex para no cargar el resto. */
 	@Query("SELECT p.complex FROM Project p WHERE p.id = :id")
 	Optional<String> findComplexById(@Param("id") Long id);
+
+	/** Hashes de target y complex, sin leer los LONGTEXT. */
+	@Query("SELECT new edu.itesm.accelerated_drug_design_backend.dto.ProjectContentHashesDto(p.targetSha256, p.complexSha256) FROM Project p WHERE p.id = :id")
+	Optional<ProjectContentHashesDto> findContentHashesById(@Param("id") Long id);
+
+	/** Solo hash de target (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT p.targetSha256 FROM Project p WHERE p.id = :id")
+	Optional<String> findTargetSha256ById(@Param("id") Long id);
+
+	/** Solo hash de complex (ETag), sin leer el LONGTEXT. */
+	@Query("SELECT p.complexSha256 FROM Project p WHERE p.id = :id")
+	Optional<String> findComplexSha256ById(@Param("id") Long id);
 }
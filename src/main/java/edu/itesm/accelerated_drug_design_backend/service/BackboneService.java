@@ -3,6 +3,7 @@ package edu.itesm.accelerated_drug_design_backend.service;
 import edu.itesm.accelerated_drug_design_backend.cache.PdbCacheService;
 import edu.itesm.accelerated_drug_design_backend.core.CoreSystemInterface;
 import edu.itesm.accelerated_drug_design_backend.dto.BackboneListDto;
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.CreateBackbonesRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.RfdiffusionRunRequest;
 import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
@@ -10,6 +11,7 @@ import edu.itesm.accelerated_drug_design_backend.entity.Project;
 import edu.itesm.accelerated_drug_design_backend.repository.BackboneRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,13 +33,16 @@ public class BackboneService {
 	private final ProjectService projectService;
 	private final CoreSystemInterface coreSystem;
 	private final PdbCacheService pdbCache;
+	private final boolean runPollerEnabled;
 
 	public BackboneService(BackboneRepository backboneRepository, ProjectService projectService,
-			CoreSystemInterface coreSystem, PdbCacheService pdbCache) {
+			CoreSystemInterface coreSystem, PdbCacheService pdbCache,
+			@Value("${app.run-poller.enabled:true}") boolean runPollerEnabled) {
 		this.backboneRepository = backboneRepository;
 		this.projectService = projectService;
 		this.coreSystem = coreSystem;
 		this.pdbCache = pdbCache;
+		this.runPollerEnabled = runPollerEnabled;
 	}
 
 	public List<Backbone> findByProjectId(Long projectId) {
@@ -50,14 +55,16 @@ public class BackboneService {
 		return backboneRepository.findListByProjectId(projectId);
 	}
 
+	/** Structure hash and backbone status (for ETags), without loading the structure. */
+	@Transactional(readOnly = true)
+	public Optional<ContentVersionDto> getStructureVersion(Long projectId, Long backboneId) {
+		return backboneRepository.findStructureVersionByProjectIdAndBackboneId(projectId, backboneId);
+	}
+
 	@Transactional(readOnly = true)
 	public Optional<String> getStructure(Long projectId, Long backboneId) {
-		return pdbCache.getBackboneStructure(projectId, backboneId)
-				.or(() -> {
-					Optional<String> fromDb = backboneRepository.findStructureByProjectIdAndBackboneId(projectId, backboneId);
-					fromDb.ifPresent(value -> pdbCache.putBackboneStructure(projectId, backboneId, value));
-					return fromDb;
-				});
+		return pdbCache.getOrLoadBackboneStructure(projectId, backboneId,
+				() -> backboneRepository.findStructureByProjectIdAndBackboneId(projectId, backboneId).orElse(null));
 	}
 
 	@Transactional
@@ -119,6 +126,20 @@ public class BackboneService {
 		return created;
 	}
 
+	/** True when {@link RunStatusPoller} keeps run status current, so status reads need not call the core. */
+	public boolean isRunPollerEnabled() {
+		return runPollerEnabled;
+	}
+
+	/**
+	 * Stored status for the GET .../status/{runId} endpoint (plain DB read, kept current by
+	 * {@link RunStatusPoller}). Without the poller, use {@link #checkRunStatus}.
+	 */
+	@Transactional(readOnly = true)
+	public List<Backbone> getRunStatus(Long projectId, String runId) {
+		return backboneRepository.findByProject_IdAndRunIDOrderByIdAsc(projectId, runId);
+	}
+
 	/**
 	 * Check run status with the core system, update backbones in DB, and return updated list.
 	 * Core GET returns: { "status": "COMPLETED"|"RUNNING"|"ERROR", "output_pdbs_content": { "output_0": "PDB...", "output_1": "PDB..." }, "error_details": "..." }.
@@ -1,11 +1,22 @@
 package edu.itesm.accelerated_drug_design_backend.service;
 
 import edu.itesm.accelerated_drug_design_backend.cache.PdbCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerateResult;
+import edu.itesm.accelerated_drug_design_backend.dto.ProjectContentHashesDto;
 import edu.itesm.accelerated_drug_design_backend.entity.Project;
 import edu.itesm.accelerated_drug_design_backend.repository.ProjectRepository;
-import org.biojava.nbio.structure.*;
+import edu.itesm.accelerated_drug_design_backend.structure.AtomGrid;
+import edu.itesm.accelerated_drug_design_backend.structure.NeighborGraph;
+import edu.itesm.accelerated_drug_design_backend.structure.PdbCoordinateParser;
+import edu.itesm.accelerated_drug_design_backend.structure.StructureModel;
+import jakarta.annotation.PreDestroy;
+import org.biojava.nbio.structure.Structure;
 import org.biojava.nbio.structure.io.PDBFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -13,17 +24,59 @@ import org.springframework.util.StringUtils;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * Suggests RFdiffusion contig, hotspots and chains to remove from a project's complex (or target) PDB.
+ * Results are memoized per project and content: the key includes the stored SHA-256 of target and complex,
+ * so a changed PDB misses the cache and old entries simply age out ({@code app.generate.cache-size}).
+ * Projects without stored hashes (rows not backfilled) are computed on every call.
+ * <p>
+ * PDBs are read with {@link PdbCoordinateParser} into a {@link StructureModel}; BioJava is only used for
+ * files that parser rejects. Per-chain data (protein residues, sequence, heavy atoms) is computed once per
+ * model and, like the pairwise duplicate-chain comparisons, in parallel on a dedicated ForkJoin pool
+ * ({@code app.generate.parallelism}, 0 = available processors).
+ */
 @Service
 public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
 
+    private static final Logger log = LoggerFactory.getLogger(BioJavaRfdiffusionParamService.class);
+
     private final ProjectRepository projectRepository;
     private final PdbCacheService pdbCache;
+    private final Cache<ResultKey, GenerateResult> results;
+    private final ForkJoinPool pool;
+
+    /** Project plus the content hashes the result was computed from. */
+    private record ResultKey(Long projectId, String targetSha256, String complexSha256) {}
 
-    public BioJavaRfdiffusionParamService(ProjectRepository projectRepository, PdbCacheService pdbCache) {
+    public BioJavaRfdiffusionParamService(ProjectRepository projectRepository, PdbCacheService pdbCache,
+                                          @Value("${app.generate.cache-size:256}") int cacheSize,
+                                          @Value("${app.generate.parallelism:0}") int parallelism) {
         this.projectRepository = projectRepository;
         this.pdbCache = pdbCache;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, cacheSize))
+                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                p -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    t.setName("generate-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, null, false);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
     }
 
     // Defaults (igual a tu script)
@@ -50,6 +103,13 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
     private static final Set<Character> FAVORABLE_HOTSPOT_AA =
             new HashSet<>(Arrays.asList('F','W','Y','R','K','D','E','H'));
 
+    /** Residue index in the {@link StructureModel} with its score. */
+    private record ScoredResidue(int residue, double score) {}
+
+    /** Data of one chain computed once per model: protein residues, their sequence and polymer heavy atoms. */
+    private record ChainSummary(String id, int[] proteinResidues, String sequence,
+                                float[] heavyX, float[] heavyY, float[] heavyZ) {}
+
     private static class Suggestion {
         String contig;
         String hotspots;
@@ -64,6 +124,17 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
     @Override
     @Transactional(readOnly = true)
     public GenerateResult generateForProject(Long projectId) {
+        ProjectContentHashesDto hashes = projectRepository.findContentHashesById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
+        if (hashes.targetSha256() == null && hashes.complexSha256() == null) {
+            return compute(projectId);
+        }
+        // Single-flight per key: concurrent calls for the same project wait for one computation
+        return results.get(new ResultKey(projectId, hashes.targetSha256(), hashes.complexSha256()),
+                key -> compute(projectId));
+    }
+
+    private GenerateResult compute(Long projectId) {
         String target = getTarget(projectId);
         String complex = getComplex(projectId);
         boolean hasComplex = StringUtils.hasText(complex);
@@ -76,53 +147,60 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
         try {
             Suggestion s;
             if (hasComplex) {
-                Structure complexStruct = readPdbFromString(complex);
-                s = suggestFromComplex(complexStruct, null, null);
+                StructureModel complexModel = readModel(complex);
+                s = suggestFromComplex(complexModel, null, null);
             } else {
-                Structure targetStruct = readPdbFromString(target);
-                s = suggestFromTargetOnly(targetStruct, null);
+                StructureModel targetModel = readModel(target);
+                s = suggestFromTargetOnly(targetModel, null);
             }
-            return new GenerateResult(s.contig, s.hotspots, s.chainsToRemove);
+            return new GenerateResult(s.contig, s.hotspots, List.copyOf(s.chainsToRemove));
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate params for project " + projectId + ": " + e.getMessage(), e);
         }
     }
 
     private String getTarget(Long projectId) {
-        return pdbCache.getTarget(projectId)
-                .orElseGet(() -> {
-                    String value = projectRepository.findTargetById(projectId)
-                            .orElseThrow(() ->
-                                    new IllegalArgumentException("Project not found: " + projectId));
-
-                    if (value == null) {
-                        throw new IllegalStateException("Project target is null for id: " + projectId);
-                    }
-
-                    pdbCache.putTarget(projectId, value);
-                    return value;
-                });
+        return pdbCache.getOrLoadTarget(projectId, () -> {
+            String value = projectRepository.findTargetById(projectId)
+                    .orElseThrow(() ->
+                            new IllegalArgumentException("Project not found: " + projectId));
+
+            if (value == null) {
+                throw new IllegalStateException("Project target is null for id: " + projectId);
+            }
+            return value;
+        });
     }
 
     private String getComplex(Long projectId) {
-        return pdbCache.getComplex(projectId)
-                .orElseGet(() -> {
-                    String value = projectRepository.findComplexById(projectId)
-                            .orElseThrow(() ->
-                                    new IllegalArgumentException("Project not found: " + projectId));
-
-                    if (value == null) {
-                        throw new IllegalStateException("Project complex is null for id: " + projectId);
-                    }
-
-                    pdbCache.putComplex(projectId, value);
-                    return value;
-                });
+        return pdbCache.getOrLoadComplex(projectId, () -> {
+            String value = projectRepository.findComplexById(projectId)
+                    .orElseThrow(() ->
+                            new IllegalArgumentException("Project not found: " + projectId));
+
+            if (value == null) {
+                throw new IllegalStateException("Project complex is null for id: " + projectId);
+            }
+            return value;
+        });
     }
 
 
     // ---------------- Parsing ----------------
 
+    /**
+     * Coordinates of the PDB text: the fixed-column parser on the cached string, or BioJava for files it
+     * rejects (blank chain ids, hybrid-36 numbering, malformed records).
+     */
+    private static StructureModel readModel(String pdbText) throws Exception {
+        try {
+            return PdbCoordinateParser.parse(pdbText);
+        } catch (IllegalArgumentException e) {
+            log.debug("Fast PDB parse rejected input ({}), falling back to BioJava", e.getMessage());
+            return StructureModel.of(readPdbFromString(pdbText));
+        }
+    }
+
     private static Structure readPdbFromString(String pdbText) throws Exception {
         PDBFileReader r = new PDBFileReader();
         try (ByteArrayInputStream in = new ByteArrayInputStream(pdbText.getBytes(StandardCharsets.UTF_8))) {
@@ -132,10 +210,10 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
 
     // ---------------- Complex mode ----------------
 
-    private Suggestion suggestFromComplex(Structure structure, String targetChainId, String partnerChainId) {
-        List<Chain> chains = structure.getChains();
-        List<Chain> proteinChains = chains.stream()
-                .filter(c -> chainProteinResidues(c).size() >= 30)
+    private Suggestion suggestFromComplex(StructureModel model, String targetChainId, String partnerChainId) {
+        List<ChainSummary> summaries = summarizeChains(model);
+        List<ChainSummary> proteinChains = summaries.stream()
+                .filter(c -> c.proteinResidues().length >= 30)
                 .collect(Collectors.toList());
 
         if (proteinChains.isEmpty()) {
@@ -144,12 +222,12 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
 
         // Auto-select: 2 longest
         if (!StringUtils.hasText(targetChainId) || !StringUtils.hasText(partnerChainId)) {
-            List<Chain> sorted = new ArrayList<>(proteinChains);
-            sorted.sort((a, b) -> Integer.compare(chainProteinResidues(b).size(), chainProteinResidues(a).size()));
-            if (!StringUtils.hasText(targetChainId)) targetChainId = chainId(sorted.get(0));
+            List<ChainSummary> sorted = new ArrayList<>(proteinChains);
+            sorted.sort((a, b) -> Integer.compare(b.proteinResidues().length, a.proteinResidues().length));
+            if (!StringUtils.hasText(targetChainId)) targetChainId = sorted.get(0).id();
             if (!StringUtils.hasText(partnerChainId)) {
                 String t = targetChainId;
-                partnerChainId = sorted.stream().map(BioJavaRfdiffusionParamService::chainId)
+                partnerChainId = sorted.stream().map(ChainSummary::id)
                         .filter(id -> !id.equals(t)).findFirst().orElse(null);
             }
         }
@@ -158,8 +236,8 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
             throw new IllegalArgumentException("Could not infer partner chain in complex PDB.");
         }
 
-        Chain targetChain = getChainById(structure, targetChainId);
-        Chain partnerChain = getChainById(structure, partnerChainId);
+        ChainSummary targetChain = summaries.get(model.chainIndex(targetChainId));
+        ChainSummary partnerChain = summaries.get(model.chainIndex(partnerChainId));
 
         // Duplicates
         Map<String, List<String>> dupGroups = findDuplicateChains(proteinChains, duplicateIdentityThreshold);
@@ -173,38 +251,36 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
             for (String m : members) if (!m.equals(keep)) chainsToRemove.add(m);
         }
 
-        // Interface scoring
-        List<Group> targetRes = chainProteinResidues(targetChain);
-        List<Atom> partnerAtoms = heavyAtomsOfChain(partnerChain);
+        // Interface scoring: partner heavy atoms in a cell list, so each target atom only scans nearby cells
+        int[] targetRes = targetChain.proteinResidues();
+        AtomGrid partnerGrid = AtomGrid.of(partnerChain.heavyX(), partnerChain.heavyY(), partnerChain.heavyZ(), interfaceCutoff);
 
-        List<Map.Entry<Group, Double>> scored = new ArrayList<>();
-        for (Group r : targetRes) {
-            List<Atom> atoms = heavyAtomsOfGroup(r);
+        List<ScoredResidue> scored = new ArrayList<>();
+        for (int r : targetRes) {
             int contactCount = 0;
-            for (Atom a : atoms) {
-                for (Atom pb : partnerAtoms) {
-                    if (distance(a, pb) <= interfaceCutoff) contactCount++;
-                }
+            for (int a = model.firstAtom(r); a < model.endAtom(r); a++) {
+                if (!model.isHeavy(a)) continue;
+                contactCount += partnerGrid.countWithin(model.x(a), model.y(a), model.z(a), interfaceCutoff);
             }
-            char aa1 = AA3_TO_1.getOrDefault(((AminoAcid) r).getPDBName(), 'X');
+            char aa1 = AA3_TO_1.getOrDefault(model.residueName(r), 'X');
             double bonus = FAVORABLE_HOTSPOT_AA.contains(aa1) ? 0.15 : 0.0;
-            scored.add(new AbstractMap.SimpleEntry<>(r, contactCount + bonus));
+            scored.add(new ScoredResidue(r, contactCount + bonus));
         }
-        scored.sort((x, y) -> Double.compare(y.getValue(), x.getValue()));
+        scored.sort((x, y) -> Double.compare(y.score(), x.score()));
 
-        List<Group> hotspotsRes = pickHotspotsWithSpacing(scored, maxHotspots, 6.0);
-        String hotspots = formatHotspots(targetChainId, hotspotsRes);
-        String contig = contigFromHotspots(targetChainId, hotspotsRes, bufferRes, binderMin, binderMax);
+        List<Integer> hotspotsRes = pickHotspotsWithSpacing(model, scored, maxHotspots, 6.0);
+        String hotspots = formatHotspots(model, targetChainId, hotspotsRes);
+        String contig = contigFromHotspots(model, targetChainId, hotspotsRes, bufferRes, binderMin, binderMax);
 
         return new Suggestion(contig, hotspots, chainsToRemove.stream().sorted().collect(Collectors.toList()));
     }
 
     // ---------------- Target-only mode ----------------
 
-    private Suggestion suggestFromTargetOnly(Structure structure, String targetChainId) {
-        List<Chain> chains = structure.getChains();
-        List<Chain> proteinChains = chains.stream()
-                .filter(c -> chainProteinResidues(c).size() >= 30)
+    private Suggestion suggestFromTargetOnly(StructureModel model, String targetChainId) {
+        List<ChainSummary> summaries = summarizeChains(model);
+        List<ChainSummary> proteinChains = summaries.stream()
+                .filter(c -> c.proteinResidues().length >= 30)
                 .collect(Collectors.toList());
 
         if (proteinChains.isEmpty()) {
@@ -212,10 +288,10 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
         }
 
         if (!StringUtils.hasText(targetChainId)) {
-            targetChainId = chainId(chooseBestChainByCompleteness(proteinChains));
+            targetChainId = chooseBestChainByCompleteness(proteinChains).id();
         }
 
-        Chain targetChain = getChainById(structure, targetChainId);
+        ChainSummary targetChain = summaries.get(model.chainIndex(targetChainId));
 
         // Duplicates
         Map<String, List<String>> dupGroups = findDuplicateChains(proteinChains, duplicateIdentityThreshold);
@@ -226,84 +302,107 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
             for (String m : members) if (!m.equals(keep)) chainsToRemove.add(m);
         }
 
-        List<Group> targetRes = chainProteinResidues(targetChain);
-        List<Atom> caAtoms = targetRes.stream()
-                .map(g -> ((AminoAcid) g).getCA())
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        // Protein residues always have a CA, so node i of the CA graph is targetRes[i].
+        // One neighbour search at the larger radius serves both exposure counts and patch linking.
+        int[] targetRes = targetChain.proteinResidues();
+        float[] caX = new float[targetRes.length];
+        float[] caY = new float[targetRes.length];
+        float[] caZ = new float[targetRes.length];
+        Map<Integer, Integer> caNode = new HashMap<>();
+        for (int i = 0; i < targetRes.length; i++) {
+            int ca = model.caAtom(targetRes[i]);
+            caX[i] = model.x(ca);
+            caY[i] = model.y(ca);
+            caZ[i] = model.z(ca);
+            caNode.put(targetRes[i], i);
+        }
+        NeighborGraph caGraph = NeighborGraph.build(caX, caY, caZ, Math.max(exposureRadius, patchLinkRadius));
 
         // Exposure scoring
-        List<Map.Entry<Group, Double>> exposureScores = new ArrayList<>();
-        for (Group r : targetRes) {
-            Atom ca = ((AminoAcid) r).getCA();
-            if (ca == null) continue;
-
-            int neighborCount = 0;
-            for (Atom other : caAtoms) if (distance(ca, other) <= exposureRadius) neighborCount++;
+        List<ScoredResidue> exposureScores = new ArrayList<>();
+        for (int i = 0; i < targetRes.length; i++) {
+            int r = targetRes[i];
+            int neighborCount = caGraph.countWithin(i, exposureRadius);
 
-            char aa1 = AA3_TO_1.getOrDefault(((AminoAcid) r).getPDBName(), 'X');
+            char aa1 = AA3_TO_1.getOrDefault(model.residueName(r), 'X');
             double aaBonus = FAVORABLE_HOTSPOT_AA.contains(aa1) ? 0.2 : 0.0;
 
             double score = (-neighborCount) + aaBonus;
-            exposureScores.add(new AbstractMap.SimpleEntry<>(r, score));
+            exposureScores.add(new ScoredResidue(r, score));
         }
-        exposureScores.sort((x, y) -> Double.compare(y.getValue(), x.getValue()));
+        exposureScores.sort((x, y) -> Double.compare(y.score(), x.score()));
 
         int k = Math.max(10, (int) (exposureScores.size() * topExposedFraction));
         k = Math.min(k, exposureScores.size());
 
-        List<Group> exposed = exposureScores.subList(0, k).stream()
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        List<Integer> exposed = exposureScores.subList(0, k).stream()
+                .map(ScoredResidue::residue).collect(Collectors.toList());
 
-        List<List<Group>> patches = clusterPatches(exposed, patchLinkRadius);
+        List<List<Integer>> patches = clusterPatches(exposed, caGraph, caNode, patchLinkRadius);
 
-        Map<Group, Double> expMapTopK = new HashMap<>();
-        for (int i = 0; i < k; i++) expMapTopK.put(exposureScores.get(i).getKey(), exposureScores.get(i).getValue());
+        Map<Integer, Double> expMapTopK = new HashMap<>();
+        for (int i = 0; i < k; i++) expMapTopK.put(exposureScores.get(i).residue(), exposureScores.get(i).score());
 
-        patches.sort((p1, p2) -> Double.compare(patchScore(p2, expMapTopK), patchScore(p1, expMapTopK)));
-        List<Group> bestPatch = !patches.isEmpty() ? patches.get(0) : exposed;
+        patches.sort((p1, p2) -> Double.compare(patchScore(model, p2, expMapTopK), patchScore(model, p1, expMapTopK)));
+        List<Integer> bestPatch = !patches.isEmpty() ? patches.get(0) : exposed;
 
-        Map<Group, Double> expMapAll = new HashMap<>();
-        for (Map.Entry<Group, Double> e : exposureScores) expMapAll.put(e.getKey(), e.getValue());
+        Map<Integer, Double> expMapAll = new HashMap<>();
+        for (ScoredResidue e : exposureScores) expMapAll.put(e.residue(), e.score());
 
-        List<Map.Entry<Group, Double>> scoredPatch = new ArrayList<>();
-        for (Group r : bestPatch) scoredPatch.add(new AbstractMap.SimpleEntry<>(r, expMapAll.getOrDefault(r, 0.0)));
-        scoredPatch.sort((x, y) -> Double.compare(y.getValue(), x.getValue()));
+        List<ScoredResidue> scoredPatch = new ArrayList<>();
+        for (int r : bestPatch) scoredPatch.add(new ScoredResidue(r, expMapAll.getOrDefault(r, 0.0)));
+        scoredPatch.sort((x, y) -> Double.compare(y.score(), x.score()));
 
-        List<Group> hotspotsRes = pickHotspotsWithSpacing(scoredPatch, maxHotspots, 6.0);
-        String hotspots = formatHotspots(targetChainId, hotspotsRes);
-        String contig = contigFromHotspots(targetChainId, hotspotsRes, bufferRes, binderMin, binderMax);
+        List<Integer> hotspotsRes = pickHotspotsWithSpacing(model, scoredPatch, maxHotspots, 6.0);
+        String hotspots = formatHotspots(model, targetChainId, hotspotsRes);
+        String contig = contigFromHotspots(model, targetChainId, hotspotsRes, bufferRes, binderMin, binderMax);
 
         return new Suggestion(contig, hotspots, chainsToRemove.stream().sorted().collect(Collectors.toList()));
     }
 
     // ---------------- Patch clustering helpers ----------------
 
-    private List<List<Group>> clusterPatches(List<Group> exposed, double linkRadius) {
-        Set<Group> visited = new HashSet<>();
-        List<List<Group>> patches = new ArrayList<>();
-
-        for (Group start : exposed) {
-            if (visited.contains(start)) continue;
-            List<Group> patch = new ArrayList<>();
-            Deque<Group> q = new ArrayDeque<>();
-            q.add(start);
-            visited.add(start);
-
-            while (!q.isEmpty()) {
-                Group cur = q.removeFirst();
-                patch.add(cur);
-                Atom curCA = ((AminoAcid) cur).getCA();
-                if (curCA == null) continue;
-
-                for (Group rr : exposed) {
-                    if (visited.contains(rr)) continue;
-                    Atom rrCA = ((AminoAcid) rr).getCA();
-                    if (rrCA == null) continue;
-                    if (distance(curCA, rrCA) <= linkRadius) {
-                        visited.add(rr);
-                        q.addLast(rr);
-                    }
+    /**
+     * BFS over exposed residues linked by CA distance <= linkRadius, walking the precomputed CA graph
+     * instead of rescanning the exposed list. Neighbours are enqueued in exposed-list order (by rank),
+     * so patches come out exactly as with the all-pairs scan.
+     */
+    private static List<List<Integer>> clusterPatches(List<Integer> exposed, NeighborGraph caGraph,
+                                                      Map<Integer, Integer> caNode, double linkRadius) {
+        int[] rankOfNode = new int[caGraph.nodeCount()];
+        Arrays.fill(rankOfNode, -1);
+        int[] nodeOfRank = new int[exposed.size()];
+        for (int k = 0; k < exposed.size(); k++) {
+            int node = caNode.get(exposed.get(k));
+            rankOfNode[node] = k;
+            nodeOfRank[k] = node;
+        }
+
+        boolean[] visited = new boolean[exposed.size()];
+        List<List<Integer>> patches = new ArrayList<>();
+        int[] queue = new int[exposed.size()];
+        int[] linked = new int[exposed.size()];
+
+        for (int start = 0; start < exposed.size(); start++) {
+            if (visited[start]) continue;
+            List<Integer> patch = new ArrayList<>();
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            visited[start] = true;
+
+            while (head < tail) {
+                int cur = queue[head++];
+                patch.add(exposed.get(cur));
+
+                int[] count = {0};
+                caGraph.forEachWithin(nodeOfRank[cur], linkRadius, node -> {
+                    int rank = rankOfNode[node];
+                    if (rank >= 0 && !visited[rank]) linked[count[0]++] = rank;
+                });
+                Arrays.sort(linked, 0, count[0]);
+                for (int i = 0; i < count[0]; i++) {
+                    visited[linked[i]] = true;
+                    queue[tail++] = linked[i];
                 }
             }
             patches.add(patch);
@@ -311,13 +410,13 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
         return patches;
     }
 
-    private double patchScore(List<Group> patch, Map<Group, Double> expMapTopK) {
+    private double patchScore(StructureModel model, List<Integer> patch, Map<Integer, Double> expMapTopK) {
         int size = patch.size();
         int fav = 0;
         double expSum = 0.0;
 
-        for (Group r : patch) {
-            char aa1 = AA3_TO_1.getOrDefault(((AminoAcid) r).getPDBName(), 'X');
+        for (int r : patch) {
+            char aa1 = AA3_TO_1.getOrDefault(model.residueName(r), 'X');
             if (FAVORABLE_HOTSPOT_AA.contains(aa1)) fav++;
             expSum += expMapTopK.getOrDefault(r, 0.0);
         }
@@ -327,158 +426,187 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
 
     // ---------------- General helpers ----------------
 
-    private static String chainId(Chain c) {
-        String id = c.getId();
-        if (id != null && !id.isBlank()) return id.trim();
-        return c.getName() != null ? c.getName().trim() : "?";
+    /** Summaries of all chains of the model, in chain order, computed in parallel. */
+    private List<ChainSummary> summarizeChains(StructureModel model) {
+        List<Callable<ChainSummary>> tasks = new ArrayList<>();
+        for (int c = 0; c < model.chainCount(); c++) {
+            int chain = c;
+            tasks.add(() -> summarizeChain(model, chain));
+        }
+        return invokeAll(tasks);
+    }
+
+    private static ChainSummary summarizeChain(StructureModel model, int chain) {
+        int[] protein = chainProteinResidues(model, chain);
+        StringBuilder sequence = new StringBuilder(protein.length);
+        for (int r : protein) sequence.append(AA3_TO_1.get(model.residueName(r)));
+
+        // Heavy atoms of polymer residues (ligands and waters excluded)
+        int first = model.firstAtom(model.firstResidue(chain));
+        int end = model.endAtom(model.endResidue(chain) - 1);
+        float[] x = new float[end - first];
+        float[] y = new float[end - first];
+        float[] z = new float[end - first];
+        int n = 0;
+        for (int r = model.firstResidue(chain); r < model.endResidue(chain); r++) {
+            if (!model.isPolymer(r)) continue;
+            for (int a = model.firstAtom(r); a < model.endAtom(r); a++) {
+                if (!model.isHeavy(a)) continue;
+                x[n] = model.x(a);
+                y[n] = model.y(a);
+                z[n] = model.z(a);
+                n++;
+            }
+        }
+        return new ChainSummary(model.chainId(chain), protein, sequence.toString(),
+                Arrays.copyOf(x, n), Arrays.copyOf(y, n), Arrays.copyOf(z, n));
     }
 
-    private static Chain getChainById(Structure s, String id) {
-        for (Chain c : s.getChains()) {
-            if (chainId(c).equals(id)) return c;
+    /** Runs the tasks on the pool (inline when there is only one) and returns their results in order. */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> out = new ArrayList<>(tasks.size());
+        try {
+            if (tasks.size() <= 1) {
+                for (Callable<T> task : tasks) out.add(task.call());
+                return out;
+            }
+            for (Future<T> f : pool.invokeAll(tasks)) out.add(f.get());
+            return out;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating params", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
         }
-        throw new IllegalArgumentException("Chain not found: " + id);
     }
 
-    private static List<Group> chainProteinResidues(Chain chain) {
-        List<Group> out = new ArrayList<>();
-        for (Group g : chain.getAtomGroups()) if (isProteinResidue(g)) out.add(g);
-        return out;
+    /** Protein residues of the chain (standard amino acid with a CA), in file order. */
+    private static int[] chainProteinResidues(StructureModel model, int chain) {
+        int[] out = new int[model.endResidue(chain) - model.firstResidue(chain)];
+        int n = 0;
+        for (int r = model.firstResidue(chain); r < model.endResidue(chain); r++) {
+            if (isProteinResidue(model, r)) out[n++] = r;
+        }
+        return Arrays.copyOf(out, n);
     }
 
-    private static boolean isProteinResidue(Group g) {
-        if (!(g instanceof AminoAcid)) return false;
-        AminoAcid aa = (AminoAcid) g;
-        String resName = aa.getPDBName();
-        if (!AA3_TO_1.containsKey(resName)) return false;
-        return aa.getCA() != null;
+    private static boolean isProteinResidue(StructureModel model, int residue) {
+        if (!model.isPolymer(residue)) return false;
+        if (!AA3_TO_1.containsKey(model.residueName(residue))) return false;
+        return model.caAtom(residue) >= 0;
     }
 
-    private static Chain chooseBestChainByCompleteness(List<Chain> chains) {
-        Chain best = null;
+    private static ChainSummary chooseBestChainByCompleteness(List<ChainSummary> chains) {
+        ChainSummary best = null;
         int bestN = -1;
-        for (Chain c : chains) {
-            int n = chainProteinResidues(c).size();
+        for (ChainSummary c : chains) {
+            int n = c.proteinResidues().length;
             if (n > bestN) { bestN = n; best = c; }
         }
         if (best == null) throw new IllegalStateException("No chains to choose from.");
         return best;
     }
 
-    private static String chainSequence(Chain chain) {
-        StringBuilder sb = new StringBuilder();
-        for (Group g : chain.getAtomGroups()) {
-            if (isProteinResidue(g)) sb.append(AA3_TO_1.get(((AminoAcid) g).getPDBName()));
-        }
-        return sb.toString();
-    }
-
-    private static double seqSimilarity(String a, String b) {
-        if (a == null || b == null || a.isEmpty() || b.isEmpty()) return 0.0;
+    /**
+     * Position-wise identity over the shorter sequence at least {@code identityThreshold} and lengths within 5.
+     * Rejects on length first and stops comparing once mismatches make the threshold unreachable.
+     */
+    private static boolean isDuplicateSequence(String a, String b, double identityThreshold) {
+        if (Math.abs(a.length() - b.length()) > 5) return false;
+        if (a.isEmpty() || b.isEmpty()) return 0.0 >= identityThreshold;
         int n = Math.min(a.length(), b.length());
-        int matches = 0;
-        for (int i = 0; i < n; i++) if (a.charAt(i) == b.charAt(i)) matches++;
-        return (double) matches / (double) n;
+        int mismatches = 0;
+        for (int i = 0; i < n; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                mismatches++;
+                if ((double) (n - mismatches) / (double) n < identityThreshold) return false;
+            }
+        }
+        return (double) (n - mismatches) / (double) n >= identityThreshold;
     }
 
-    private static Map<String, List<String>> findDuplicateChains(List<Chain> chains, double identityThreshold) {
-        Map<String, String> seqs = new HashMap<>();
-        for (Chain c : chains) seqs.put(chainId(c), chainSequence(c));
+    /**
+     * Greedy grouping in chain order: each chain not yet grouped starts a group with every later ungrouped
+     * chain it duplicates. The pairwise comparisons (one row per chain) run in parallel first.
+     */
+    private Map<String, List<String>> findDuplicateChains(List<ChainSummary> chains, double identityThreshold) {
+        int n = chains.size();
+        List<Callable<boolean[]>> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int row = i;
+            rows.add(() -> {
+                boolean[] dup = new boolean[n];
+                String seq = chains.get(row).sequence();
+                for (int j = row + 1; j < n; j++) {
+                    dup[j] = isDuplicateSequence(seq, chains.get(j).sequence(), identityThreshold);
+                }
+                return dup;
+            });
+        }
+        List<boolean[]> duplicates = invokeAll(rows);
 
-        Set<String> used = new HashSet<>();
+        boolean[] used = new boolean[n];
         Map<String, List<String>> groups = new LinkedHashMap<>();
-
-        for (Chain c : chains) {
-            String id = chainId(c);
-            if (used.contains(id)) continue;
-            used.add(id);
+        for (int i = 0; i < n; i++) {
+            if (used[i]) continue;
+            used[i] = true;
 
             List<String> group = new ArrayList<>();
-            group.add(id);
-
-            for (Chain other : chains) {
-                String oid = chainId(other);
-                if (used.contains(oid)) continue;
-
-                double sim = seqSimilarity(seqs.get(id), seqs.get(oid));
-                int lenDiff = Math.abs(seqs.get(id).length() - seqs.get(oid).length());
-
-                if (sim >= identityThreshold && lenDiff <= 5) {
-                    used.add(oid);
-                    group.add(oid);
+            group.add(chains.get(i).id());
+            for (int j = i + 1; j < n; j++) {
+                if (!used[j] && duplicates.get(i)[j]) {
+                    used[j] = true;
+                    group.add(chains.get(j).id());
                 }
             }
-            groups.put(id, group);
+            groups.put(chains.get(i).id(), group);
         }
         return groups;
     }
 
-    private static boolean isHeavyAtom(Atom a) {
-        Element e = a.getElement();
-        if (e != null) return e != Element.H;
-        String name = a.getName();
-        return name == null || !name.startsWith("H");
-    }
-
-    private static List<Atom> heavyAtomsOfGroup(Group g) {
-        List<Atom> atoms = new ArrayList<>();
-        for (Atom a : g.getAtoms()) if (isHeavyAtom(a)) atoms.add(a);
-        return atoms;
-    }
-
-    private static List<Atom> heavyAtomsOfChain(Chain c) {
-        List<Atom> atoms = new ArrayList<>();
-        for (Group g : c.getAtomGroups()) atoms.addAll(heavyAtomsOfGroup(g));
-        return atoms;
-    }
-
-    private static double distance(Atom a, Atom b) {
-        double dx = a.getX() - b.getX();
-        double dy = a.getY() - b.getY();
-        double dz = a.getZ() - b.getZ();
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
-    }
-
-    private static double caDistance(Group r1, Group r2) {
-        Atom a = ((AminoAcid) r1).getCA();
-        Atom b = ((AminoAcid) r2).getCA();
-        return distance(a, b);
+    private static double caDistance(StructureModel model, int r1, int r2) {
+        return Math.sqrt(model.distance2(model.caAtom(r1), model.caAtom(r2)));
     }
 
-    private static List<Group> pickHotspotsWithSpacing(
-            List<Map.Entry<Group, Double>> residuesScored,
+    private static List<Integer> pickHotspotsWithSpacing(
+            StructureModel model,
+            List<ScoredResidue> residuesScored,
             int maxHotspots,
             double minCaSeparation
     ) {
-        List<Group> chosen = new ArrayList<>();
-        for (Map.Entry<Group, Double> e : residuesScored) {
+        List<Integer> chosen = new ArrayList<>();
+        for (ScoredResidue e : residuesScored) {
             if (chosen.size() >= maxHotspots) break;
-            Group r = e.getKey();
-            if (!isProteinResidue(r)) continue;
+            int r = e.residue();
+            if (!isProteinResidue(model, r)) continue;
 
             boolean ok = true;
-            for (Group c : chosen) {
-                if (caDistance(r, c) < minCaSeparation) { ok = false; break; }
+            for (int c : chosen) {
+                if (caDistance(model, r, c) < minCaSeparation) { ok = false; break; }
             }
             if (ok) chosen.add(r);
         }
         return chosen;
     }
 
-    private static String formatHotspots(String chainId, List<Group> residues) {
+    private static String formatHotspots(StructureModel model, String chainId, List<Integer> residues) {
         TreeSet<Integer> nums = new TreeSet<>();
-        for (Group g : residues) {
-            ResidueNumber rn = g.getResidueNumber();
-            int n = rn != null ? rn.getSeqNum() : -1;
+        for (int r : residues) {
+            int n = model.residueNumber(r);
             if (n > 0) nums.add(n);
         }
         return nums.stream().map(n -> chainId + n).collect(Collectors.joining(","));
     }
 
-    private static String contigFromHotspots(String chainId, List<Group> hotspots,
+    private static String contigFromHotspots(StructureModel model, String chainId, List<Integer> hotspots,
                                              int bufferRes, int binderMin, int binderMax) {
         List<Integer> nums = hotspots.stream()
-                .map(g -> g.getResidueNumber() != null ? g.getResidueNumber().getSeqNum() : -1)
+                .map(model::residueNumber)
                 .filter(n -> n > 0)
                 .sorted()
                 .collect(Collectors.toList());
@@ -492,4 +620,4 @@ public class BioJavaRfdiffusionParamService implements RfdiffusionParamService {
         }
         return String.format("%d-%d/0 %s%d-%d", binderMin, binderMax, chainId, start, end);
     }
-}
\ No newline at end of file
+}
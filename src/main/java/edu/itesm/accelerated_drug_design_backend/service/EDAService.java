@@ -4,15 +4,22 @@ import edu.itesm.accelerated_drug_design_backend.dto.BinsRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.BinsResponse;
 import edu.itesm.accelerated_drug_design_backend.dto.DescriptiveStatsDto;
 import edu.itesm.accelerated_drug_design_backend.dto.DistributionResponse;
+import edu.itesm.accelerated_drug_design_backend.dto.HistogramResponse;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobMetricStats;
+import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobMetricStatsRepository;
 import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRecordRepository;
 import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 public class EDAService {
@@ -21,63 +28,237 @@ public class EDAService {
 
 	private final GenerationJobRepository generationJobRepository;
 	private final GenerationJobRecordRepository generationJobRecordRepository;
+	private final GenerationJobMetricStatsRepository metricStatsRepository;
 
 	public EDAService(GenerationJobRepository generationJobRepository,
-					  GenerationJobRecordRepository generationJobRecordRepository) {
+					  GenerationJobRecordRepository generationJobRecordRepository,
+					  GenerationJobMetricStatsRepository metricStatsRepository) {
 		this.generationJobRepository = generationJobRepository;
 		this.generationJobRecordRepository = generationJobRecordRepository;
+		this.metricStatsRepository = metricStatsRepository;
 	}
 
 	@Transactional(readOnly = true)
 	public DistributionResponse getDistribution(Long projectId, Long jobId, String metric) {
 		validateJobBelongsToProject(projectId, jobId);
-		List<Double> values = getNumericValues(projectId, jobId, metric);
+		double[] values = getNumericValues(projectId, jobId, metric);
 		return buildDistribution(metric, values);
 	}
 
 	@Transactional(readOnly = true)
 	public DistributionResponse getDistributionForJobs(Long projectId, List<Long> jobIds, String metric) {
-		List<Double> values = getNumericValuesForJobs(projectId, jobIds, metric);
+		double[] values = getNumericValuesForJobs(projectId, jobIds, metric);
 		return buildDistribution(metric, values);
 	}
 
-	private DistributionResponse buildDistribution(String metric, List<Double> values) {
-		if (values.isEmpty()) {
+	/** Los valores se encajonan una sola vez, para la respuesta; min y max se calculan sobre el double[]. */
+	private static DistributionResponse buildDistribution(String metric, double[] values) {
+		if (values.length == 0) {
 			return new DistributionResponse(metric, List.of(), null, null);
 		}
-		double min = values.stream().mapToDouble(Double::doubleValue).min().orElseThrow();
-		double max = values.stream().mapToDouble(Double::doubleValue).max().orElseThrow();
-		return new DistributionResponse(metric, values, min, max);
+		double min = values[0];
+		double max = values[0];
+		List<Double> boxed = new ArrayList<>(values.length);
+		for (double v : values) {
+			if (v < min) min = v;
+			if (v > max) max = v;
+			boxed.add(v);
+		}
+		return new DistributionResponse(metric, boxed, min, max);
+	}
+
+	/** Número de bins por defecto del histograma cuando no se indican bins ni edges. */
+	private static final int DEFAULT_HISTOGRAM_BINS = 20;
+
+	private static final int MAX_HISTOGRAM_BINS = 1000;
+
+	/**
+	 * Histograma de la métrica calculado en el servidor: bins de igual ancho entre min y max (bins)
+	 * o bordes explícitos (edges). Solo se devuelven bordes, conteos, min y max.
+	 */
+	@Transactional(readOnly = true)
+	public HistogramResponse getHistogram(Long projectId, Long jobId, String metric, Integer bins, List<Double> edges) {
+		validateJobBelongsToProject(projectId, jobId);
+		double[] values = getNumericValues(projectId, jobId, metric);
+		return buildHistogram(metric, values, bins, edges);
+	}
+
+	@Transactional(readOnly = true)
+	public HistogramResponse getHistogramForJobs(Long projectId, List<Long> jobIds, String metric, Integer bins, List<Double> edges) {
+		double[] values = getNumericValuesForJobs(projectId, jobIds, metric);
+		return buildHistogram(metric, values, bins, edges);
+	}
+
+	/** Package-private para EDABinningBenchmark. */
+	static HistogramResponse buildHistogram(String metric, double[] values, Integer bins, List<Double> edges) {
+		if (bins != null && edges != null && !edges.isEmpty()) {
+			throw new IllegalArgumentException("Use either bins or edges, not both");
+		}
+		if (edges != null && !edges.isEmpty()) {
+			return histogramWithEdges(metric, values, validateEdges(edges, "edges"));
+		}
+		int binCount = bins != null ? bins : DEFAULT_HISTOGRAM_BINS;
+		if (binCount < 1 || binCount > MAX_HISTOGRAM_BINS) {
+			throw new IllegalArgumentException("bins must be between 1 and " + MAX_HISTOGRAM_BINS);
+		}
+		return histogramWithEqualWidth(metric, values, binCount);
+	}
+
+	/** Bins de igual ancho entre min y max; si todos los valores son iguales queda un solo bin [min, max]. */
+	private static HistogramResponse histogramWithEqualWidth(String metric, double[] values, int binCount) {
+		if (values.length == 0) {
+			return new HistogramResponse(metric, List.of(), List.of(), null, null, 0);
+		}
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double v : values) {
+			if (v < min) min = v;
+			if (v > max) max = v;
+		}
+		if (Double.compare(min, max) == 0) {
+			return new HistogramResponse(metric, List.of(min, max), List.of((long) values.length), min, max, values.length);
+		}
+
+		double width = (max - min) / binCount;
+		long[] counts = new long[binCount];
+		for (double v : values) {
+			int idx = (int) ((v - min) / width);
+			counts[Math.min(idx, binCount - 1)]++;
+		}
+		List<Double> edgeList = new ArrayList<>(binCount + 1);
+		for (int i = 0; i < binCount; i++) {
+			edgeList.add(min + i * width);
+		}
+		edgeList.add(max);
+		return new HistogramResponse(metric, edgeList, toList(counts), min, max, values.length);
+	}
+
+	/** Un solo recorrido: conteo por búsqueda binaria sobre los bordes, junto con min y max. */
+	private static HistogramResponse histogramWithEdges(String metric, double[] values, double[] edges) {
+		int binCount = edges.length - 1;
+		long[] counts = new long[binCount];
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double v : values) {
+			if (v < min) min = v;
+			if (v > max) max = v;
+			int idx = binIndex(v, edges);
+			if (idx >= 0) counts[idx]++;
+		}
+		List<Double> edgeList = new ArrayList<>(edges.length);
+		for (double e : edges) edgeList.add(e);
+		boolean empty = values.length == 0;
+		return new HistogramResponse(metric, edgeList, toList(counts), empty ? null : min, empty ? null : max, values.length);
+	}
+
+	/** Bordes como double[] ordenado (para búsqueda binaria); name es el campo del request en los mensajes de error. */
+	private static double[] validateEdges(List<Double> edges, String name) {
+		if (edges.size() < 2) {
+			throw new IllegalArgumentException(name + " must have at least 2 values");
+		}
+		if (edges.size() > MAX_HISTOGRAM_BINS + 1) {
+			throw new IllegalArgumentException(name + " must have at most " + (MAX_HISTOGRAM_BINS + 1) + " values");
+		}
+		double[] result = new double[edges.size()];
+		for (int i = 0; i < result.length; i++) {
+			Double e = edges.get(i);
+			if (e == null || !Double.isFinite(e)) {
+				throw new IllegalArgumentException(name + " must be finite numbers");
+			}
+			if (i > 0 && e <= result[i - 1]) {
+				throw new IllegalArgumentException(name + " must be strictly increasing");
+			}
+			result[i] = e;
+		}
+		return result;
+	}
+
+	/**
+	 * Bin de v para bordes estrictamente crecientes: [edges[i], edges[i+1]), el último incluye su borde derecho.
+	 * Devuelve -1 si v queda fuera.
+	 */
+	private static int binIndex(double v, double[] edges) {
+		int last = edges.length - 1;
+		if (v < edges[0] || v > edges[last]) return -1;
+		if (v == edges[last]) return last - 1;
+		int pos = Arrays.binarySearch(edges, v);
+		// Coincidencia exacta con un borde: empieza ese bin. Si no, insertion point - 1.
+		return pos >= 0 ? pos : -pos - 2;
+	}
+
+	private static List<Long> toList(long[] counts) {
+		List<Long> result = new ArrayList<>(counts.length);
+		for (long c : counts) result.add(c);
+		return result;
 	}
 
 	@Transactional(readOnly = true)
 	public BinsResponse getBins(Long projectId, Long jobId, String metric, BinsRequest request) {
 		validateJobBelongsToProject(projectId, jobId);
-		List<Double> values = getNumericValues(projectId, jobId, metric);
+		double[] values = getNumericValues(projectId, jobId, metric);
 		return buildBinsResponse(metric, values, request);
 	}
 
 	@Transactional(readOnly = true)
 	public BinsResponse getBinsForJobs(Long projectId, List<Long> jobIds, BinsRequest request, String metric) {
-		List<Double> values = getNumericValuesForJobs(projectId, jobIds, metric);
+		double[] values = getNumericValuesForJobs(projectId, jobIds, metric);
 		return buildBinsResponse(metric, values, request);
 	}
 
-	private BinsResponse buildBinsResponse(String metric, List<Double> values, BinsRequest request) {
-		List<Double> bins = request.bins();
-		List<String> labels = request.labels();
-		if (labels.size() != bins.size() - 1) {
-			throw new IllegalArgumentException("labels size must be bins.size() - 1");
+	/**
+	 * Bins de varias métricas del job en una sola petición: las métricas se leen con una sola consulta
+	 * y cada una se cuenta con sus propios bins/labels. Respeta el orden de las métricas del request.
+	 */
+	@Transactional(readOnly = true)
+	public Map<String, BinsResponse> getBinsBatch(Long projectId, Long jobId, Map<String, BinsRequest> requests) {
+		validateJobBelongsToProject(projectId, jobId);
+		validateMetrics(requests.keySet());
+		return buildBinsBatch(loadMetricColumns(projectId, jobId), requests);
+	}
+
+	@Transactional(readOnly = true)
+	public Map<String, BinsResponse> getBinsBatchForJobs(Long projectId, List<Long> jobIds, Map<String, BinsRequest> requests) {
+		validateMetrics(requests.keySet());
+		List<Long> ids = validateJobsBelongToProject(projectId, jobIds);
+		return buildBinsBatch(loadMetricColumns(projectId, ids), requests);
+	}
+
+	private static Map<String, BinsResponse> buildBinsBatch(MetricColumns columns, Map<String, BinsRequest> requests) {
+		Map<String, BinsResponse> result = new LinkedHashMap<>();
+		for (Map.Entry<String, BinsRequest> e : requests.entrySet()) {
+			result.put(e.getKey(), buildBinsResponse(e.getKey(), columns.get(e.getKey()), e.getValue()));
 		}
-		int numCategories = labels.size();
-		long[] counts = new long[numCategories];
-		for (Double v : values) {
-			int idx = binIndex(v, bins, numCategories);
-			if (idx >= 0 && idx < numCategories) {
-				counts[idx]++;
+		return result;
+	}
+
+	private static void validateMetrics(Iterable<String> metrics) {
+		for (String metric : metrics) {
+			if (!VALID_METRICS.contains(metric)) {
+				throw new IllegalArgumentException("Invalid metric: " + metric + ". Valid: " + VALID_METRICS);
 			}
 		}
-		int total = values.size();
+	}
+
+	/** Package-private para EDABinningBenchmark. */
+	static BinsResponse buildBinsResponse(String metric, double[] values, BinsRequest request) {
+		double[] edges = validateBins(request);
+		long[] counts = new long[edges.length - 1];
+		for (double v : values) {
+			int idx = binIndex(v, edges);
+			if (idx >= 0) counts[idx]++;
+		}
+		return toBinsResponse(metric, request.labels(), counts, values.length);
+	}
+
+	private static double[] validateBins(BinsRequest request) {
+		if (request.labels().size() != request.bins().size() - 1) {
+			throw new IllegalArgumentException("labels size must be bins.size() - 1");
+		}
+		return validateEdges(request.bins(), "bins");
+	}
+
+	private static BinsResponse toBinsResponse(String metric, List<String> labels, long[] counts, int total) {
+		int numCategories = counts.length;
 		List<Long> countList = new ArrayList<>(numCategories);
 		List<Double> percentages = new ArrayList<>(numCategories);
 		for (long c : counts) {
@@ -90,61 +271,220 @@ public class EDAService {
 	/** Orden de métricas para la tabla de estadísticas descriptivas. */
 	private static final List<String> STATS_METRIC_ORDER = List.of("ptm", "i_ptm", "pae", "i_pae", "plddt", "rmsd", "mpnn");
 
+	/**
+	 * Descriptive stats de un job. Para jobs COMPLETED se leen de generation_job_metric_stats
+	 * (calculadas al ingerir); si aún no existen se calculan sobre los registros.
+	 */
 	@Transactional(readOnly = true)
 	public Map<String, DescriptiveStatsDto> getDescriptiveStats(Long projectId, Long jobId) {
 		validateJobBelongsToProject(projectId, jobId);
+		Map<String, DescriptiveStatsDto> stored = findStoredStats(jobId);
+		if (stored != null) {
+			return stored;
+		}
+		return computeStatsFromRecords(projectId, jobId);
+	}
+
+	private Map<String, DescriptiveStatsDto> computeStatsFromRecords(Long projectId, Long jobId) {
+		return computeStats(loadMetricColumns(projectId, jobId));
+	}
+
+	/** Stats (con quality) de cada métrica en el orden de STATS_METRIC_ORDER. */
+	private static Map<String, DescriptiveStatsDto> computeStats(MetricColumns columns) {
 		Map<String, DescriptiveStatsDto> result = new LinkedHashMap<>();
 		for (String metric : STATS_METRIC_ORDER) {
-			List<Double> values = getNumericValues(projectId, jobId, metric);
-			result.put(metric, computeDescriptiveStats(values, metric)); // <-- ahora calcula quality
+			result.put(metric, computeDescriptiveStats(columns.get(metric), metric)); // <-- ahora calcula quality
+		}
+		return result;
+	}
+
+	/** Stats precalculadas en el orden de STATS_METRIC_ORDER, o null si el job no tiene todas las métricas guardadas. */
+	private Map<String, DescriptiveStatsDto> findStoredStats(Long jobId) {
+		List<GenerationJobMetricStats> rows = metricStatsRepository.findByGenerationJobId(jobId);
+		if (rows.size() < STATS_METRIC_ORDER.size()) {
+			return null;
+		}
+		Map<String, GenerationJobMetricStats> byMetric = new HashMap<>();
+		for (GenerationJobMetricStats row : rows) byMetric.put(row.getMetric(), row);
+		Map<String, DescriptiveStatsDto> result = new LinkedHashMap<>();
+		for (String metric : STATS_METRIC_ORDER) {
+			GenerationJobMetricStats row = byMetric.get(metric);
+			if (row == null) return null;
+			result.put(metric, toDto(row));
 		}
 		return result;
 	}
 
+	/**
+	 * Calcula y guarda las stats por métrica de un job (se llama al completar el job, dentro de su transacción,
+	 * y desde el endpoint de recálculo). Reemplaza las filas previas del job.
+	 */
+	@Transactional
+	public Map<String, DescriptiveStatsDto> refreshStoredStats(Long projectId, Long jobId) {
+		validateJobBelongsToProject(projectId, jobId);
+		MetricColumns columns = loadMetricColumns(projectId, jobId);
+		Map<String, DescriptiveStatsDto> stats = computeStats(columns);
+		List<GenerationJobMetricStats> rows = new ArrayList<>(stats.size());
+		for (Map.Entry<String, DescriptiveStatsDto> e : stats.entrySet()) {
+			double[] values = columns.get(e.getKey());
+			GenerationJobMetricStats row = toEntity(jobId, e.getKey(), e.getValue(), values.length);
+			// Resumen combinable (momentos + t-digest) para EDA multi-job sin leer registros
+			StatsKernel.Moments moments = StatsKernel.moments(values);
+			row.setM2(moments.m2());
+			row.setM3(moments.m3());
+			row.setM4(moments.m4());
+			row.setDigest(TDigest.of(values, TDigest.DEFAULT_COMPRESSION).toBytes());
+			rows.add(row);
+		}
+		metricStatsRepository.deleteAllByJobId(jobId);
+		metricStatsRepository.saveAll(rows);
+		return stats;
+	}
+
+	/** Backfill: recalcula las stats guardadas de todos los jobs COMPLETED del proyecto. Devuelve cuántos jobs se procesaron. */
+	@Transactional
+	public int refreshStoredStatsForProject(Long projectId) {
+		List<Long> jobIds = generationJobRepository.findIdsByProjectIdAndStatus(projectId, "COMPLETED");
+		for (Long jobId : jobIds) {
+			refreshStoredStats(projectId, jobId);
+		}
+		return jobIds.size();
+	}
+
+	@Transactional
+	public void deleteStoredStats(Long jobId) {
+		metricStatsRepository.deleteAllByJobId(jobId);
+	}
+
+	private static DescriptiveStatsDto toDto(GenerationJobMetricStats row) {
+		return new DescriptiveStatsDto(row.getMean(), row.getStd(), row.getMin(), row.getP25(), row.getP50(),
+				row.getP75(), row.getMax(), row.getSkew(), row.getKurtosis(), row.getQuality());
+	}
+
+	private static GenerationJobMetricStats toEntity(Long jobId, String metric, DescriptiveStatsDto dto, long count) {
+		GenerationJobMetricStats row = new GenerationJobMetricStats();
+		row.setGenerationJobId(jobId);
+		row.setMetric(metric);
+		row.setRecordCount(count);
+		row.setMean(dto.mean());
+		row.setStd(dto.std());
+		row.setMin(dto.min());
+		row.setP25(dto.p25());
+		row.setP50(dto.p50());
+		row.setP75(dto.p75());
+		row.setMax(dto.max());
+		row.setSkew(dto.skew());
+		row.setKurtosis(dto.kurtosis());
+		row.setQuality(dto.quality());
+		return row;
+	}
+
 	/**
 	 * Descriptive stats agregadas para múltiples jobs del mismo proyecto. Usa todos los registros
 	 * de los jobs seleccionados como si fueran un solo dataset.
+	 * Por defecto combina los resúmenes guardados de cada job (momentos exactos, percentiles aproximados
+	 * por t-digest) sin leer registros; con exact=true, o si algún job no tiene resumen, usa los valores crudos.
 	 */
 	@Transactional(readOnly = true)
-	public Map<String, DescriptiveStatsDto> getDescriptiveStatsForJobs(Long projectId, List<Long> jobIds) {
+	public Map<String, DescriptiveStatsDto> getDescriptiveStatsForJobs(Long projectId, List<Long> jobIds, boolean exact) {
 		if (jobIds == null || jobIds.isEmpty()) {
 			return Map.of();
 		}
+		List<Long> ids = validateJobsBelongToProject(projectId, jobIds);
+		if (ids.isEmpty()) {
+			return computeStats(loadMetricColumns(projectId, ids));
+		}
+		if (!exact) {
+			Map<String, DescriptiveStatsDto> merged = mergeStoredSummaries(ids);
+			if (merged != null) {
+				return merged;
+			}
+		}
+		return computeStats(loadMetricColumns(projectId, ids));
+	}
+
+	/** Combina momentos y t-digests guardados de los jobs; null si a algún job le falta el resumen de alguna métrica. */
+	private Map<String, DescriptiveStatsDto> mergeStoredSummaries(List<Long> jobIds) {
+		List<GenerationJobMetricStats> rows = metricStatsRepository.findByGenerationJobIdIn(jobIds);
+		if (rows.size() != jobIds.size() * STATS_METRIC_ORDER.size()) {
+			return null;
+		}
+		Map<String, StatsKernel.Moments> moments = new HashMap<>();
+		Map<String, List<TDigest>> digests = new HashMap<>();
+		for (GenerationJobMetricStats row : rows) {
+			if (row.getDigest() == null || row.getRecordCount() == null || row.getM2() == null
+					|| row.getM3() == null || row.getM4() == null) {
+				return null;
+			}
+			moments.merge(row.getMetric(), toMoments(row), StatsKernel.Moments::merge);
+			digests.computeIfAbsent(row.getMetric(), k -> new ArrayList<>()).add(TDigest.fromBytes(row.getDigest()));
+		}
 		Map<String, DescriptiveStatsDto> result = new LinkedHashMap<>();
 		for (String metric : STATS_METRIC_ORDER) {
-			List<Double> values = getNumericValuesForJobs(projectId, jobIds, metric);
-			result.put(metric, computeDescriptiveStats(values, metric));
+			StatsKernel.Moments m = moments.get(metric);
+			if (m == null) return null;
+			result.put(metric, descriptiveStatsFromSummary(metric, m, TDigest.merge(digests.get(metric))));
 		}
 		return result;
 	}
 
+	private static StatsKernel.Moments toMoments(GenerationJobMetricStats row) {
+		long count = row.getRecordCount();
+		if (count == 0) {
+			return StatsKernel.Moments.EMPTY;
+		}
+		return new StatsKernel.Moments(count, row.getMean(), row.getM2(), row.getM3(), row.getM4(),
+				row.getMin(), row.getMax());
+	}
+
 	@Transactional(readOnly = true)
 	public double getDatasetQuality(Long projectId, Long jobId) {
-		validateJobBelongsToProject(projectId, jobId);
+		return qualityFromStats(getDescriptiveStats(projectId, jobId));
+	}
 
+	/**
+	 * Quality (0–1) de cada job del proyecto que tiene stats guardadas, con una sola consulta.
+	 * Los jobs sin stats guardadas (p.ej. antes del backfill) no aparecen en el mapa.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Long, Double> getStoredDatasetQualityByJob(Long projectId) {
+		Map<Long, Map<String, DescriptiveStatsDto>> statsByJob = new HashMap<>();
+		for (GenerationJobMetricStats row : metricStatsRepository.findByProjectId(projectId)) {
+			statsByJob.computeIfAbsent(row.getGenerationJobId(), k -> new HashMap<>()).put(row.getMetric(), toDto(row));
+		}
+		Map<Long, Double> result = new HashMap<>();
+		for (Map.Entry<Long, Map<String, DescriptiveStatsDto>> e : statsByJob.entrySet()) {
+			if (e.getValue().keySet().containsAll(STATS_METRIC_ORDER)) {
+				result.put(e.getKey(), qualityFromStats(e.getValue()));
+			}
+		}
+		return result;
+	}
+
+	// Pesos globales (puedes ajustar si quieres)
+	private static final Map<String, Double> QUALITY_WEIGHTS = Map.of(
+			"ptm", 0.15,
+			"plddt", 0.15,
+			"pae", 0.15,
+			"rmsd", 0.15,
+			"i_ptm", 0.20,
+			"i_pae", 0.20,
+			"mpnn", 0.00
+	);
+
+	/** Índice global 0–1: promedio ponderado (QUALITY_WEIGHTS) del quality de cada métrica. */
+	static double qualityFromStats(Map<String, DescriptiveStatsDto> statsByMetric) {
 		double weightedSum = 0.0;
 		double totalWeight = 0.0;
 
-		// Pesos globales (puedes ajustar si quieres)
-		Map<String, Double> weights = Map.of(
-				"ptm", 0.15,
-				"plddt", 0.15,
-				"pae", 0.15,
-				"rmsd", 0.15,
-				"i_ptm", 0.20,
-				"i_pae", 0.20,
-				"mpnn", 0.00
-		);
-
 		for (String metric : STATS_METRIC_ORDER) {
-
-			List<Double> values = getNumericValues(projectId, jobId, metric);
-			DescriptiveStatsDto stats = computeDescriptiveStats(values, metric);
+			DescriptiveStatsDto stats = statsByMetric.get(metric);
+			if (stats == null) continue;
 
 			Double quality = stats.quality();
 			if (quality == null) continue;
 
-			double w = weights.getOrDefault(metric, 0.0);
+			double w = QUALITY_WEIGHTS.getOrDefault(metric, 0.0);
 			if (w <= 0.0) continue;
 
 			weightedSum += w * quality;
@@ -161,39 +501,9 @@ public class EDAService {
 	 * Toma todas las métricas de todos los jobs seleccionados y aplica el mismo esquema de pesos.
 	 */
 	@Transactional(readOnly = true)
-	public double getDatasetQualityForJobs(Long projectId, List<Long> jobIds) {
+	public double getDatasetQualityForJobs(Long projectId, List<Long> jobIds, boolean exact) {
 		if (jobIds == null || jobIds.isEmpty()) return 0.0;
-
-		double weightedSum = 0.0;
-		double totalWeight = 0.0;
-
-		Map<String, Double> weights = Map.of(
-				"ptm", 0.15,
-				"plddt", 0.15,
-				"pae", 0.15,
-				"rmsd", 0.15,
-				"i_ptm", 0.20,
-				"i_pae", 0.20,
-				"mpnn", 0.00
-		);
-
-		for (String metric : STATS_METRIC_ORDER) {
-			List<Double> values = getNumericValuesForJobs(projectId, jobIds, metric);
-			DescriptiveStatsDto stats = computeDescriptiveStats(values, metric);
-
-			Double quality = stats.quality();
-			if (quality == null) continue;
-
-			double w = weights.getOrDefault(metric, 0.0);
-			if (w <= 0.0) continue;
-
-			weightedSum += w * quality;
-			totalWeight += w;
-		}
-
-		if (totalWeight == 0.0) return 0.0;
-
-		return (weightedSum / totalWeight) / 100;
+		return qualityFromStats(getDescriptiveStatsForJobs(projectId, jobIds, exact));
 	}
 
 	// -------------------- Quality algorithm --------------------
@@ -282,44 +592,59 @@ public class EDAService {
 
 	// -------------------- Stats computation (ahora añade quality) --------------------
 
-	private static DescriptiveStatsDto computeDescriptiveStats(List<Double> values, String metric) {
-		if (values == null || values.isEmpty()) {
+	private static DescriptiveStatsDto computeDescriptiveStats(double[] values, String metric) {
+		if (values == null || values.length == 0) {
 			return new DescriptiveStatsDto(null, null, null, null, null, null, null, null, null, null);
 		}
 
-		List<Double> sorted = new ArrayList<>(values);
-		sorted.sort(Double::compareTo);
-		int n = sorted.size();
-
-		double mean = sorted.stream().mapToDouble(Double::doubleValue).sum() / n;
-		double variance = sorted.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum() / n;
-		double std = Math.sqrt(variance);
-
-		double min = sorted.get(0);
-		double max = sorted.get(n - 1);
+		StatsKernel.Summary summary = StatsKernel.summarize(values);
+		double std = summary.std();
+		double skew = summary.skew();
+		// Excess kurtosis (ideal 0.0)
+		double kurtosis = summary.kurtosis();
 
-		double p25 = percentile(sorted, 25);
-		double p50 = percentile(sorted, 50);
-		double p75 = percentile(sorted, 75);
+		DescriptiveStatsDto base = new DescriptiveStatsDto(
+				summary.mean(),
+				std > 0 ? std : null,
+				summary.min(),
+				summary.p25(),
+				summary.p50(),
+				summary.p75(),
+				summary.max(),
+				!Double.isNaN(skew) ? skew : null,
+				!Double.isNaN(kurtosis) ? kurtosis : null,
+				null
+		);
 
-		double skew = std > 0 ? sorted.stream().mapToDouble(v -> Math.pow((v - mean) / std, 3)).sum() / n : Double.NaN;
+		return withQuality(metric, base);
+	}
 
-		// Excess kurtosis (ideal 0.0)
-		double kurtosis = std > 0 ? sorted.stream().mapToDouble(v -> Math.pow((v - mean) / std, 4)).sum() / n - 3.0 : Double.NaN;
+	/** Igual que computeDescriptiveStats pero desde un resumen combinado: momentos exactos y cuartiles del t-digest. */
+	private static DescriptiveStatsDto descriptiveStatsFromSummary(String metric, StatsKernel.Moments m, TDigest digest) {
+		if (m.count() == 0 || digest.isEmpty()) {
+			return new DescriptiveStatsDto(null, null, null, null, null, null, null, null, null, null);
+		}
+		double std = m.std();
+		double skew = m.skew();
+		double kurtosis = m.kurtosis();
 
 		DescriptiveStatsDto base = new DescriptiveStatsDto(
-				mean,
+				m.mean(),
 				std > 0 ? std : null,
-				min,
-				p25,
-				p50,
-				p75,
-				max,
+				m.min(),
+				digest.percentile(25),
+				digest.percentile(50),
+				digest.percentile(75),
+				m.max(),
 				!Double.isNaN(skew) ? skew : null,
 				!Double.isNaN(kurtosis) ? kurtosis : null,
 				null
 		);
 
+		return withQuality(metric, base);
+	}
+
+	private static DescriptiveStatsDto withQuality(String metric, DescriptiveStatsDto base) {
 		double quality = computeQualityIndex(metric, base);
 
 		return new DescriptiveStatsDto(
@@ -336,16 +661,6 @@ public class EDAService {
 		);
 	}
 
-	private static double percentile(List<Double> sorted, double p) {
-		int n = sorted.size();
-		if (n == 1) return sorted.get(0);
-		double index = p / 100.0 * (n - 1);
-		int lo = (int) Math.floor(index);
-		int hi = Math.min(lo + 1, n - 1);
-		double w = index - lo;
-		return sorted.get(lo) * (1 - w) + sorted.get(hi) * w;
-	}
-
 	private void validateJobBelongsToProject(Long projectId, Long jobId) {
 		if (generationJobRepository.findDetailByProjectIdAndJobId(projectId, jobId).isEmpty()) {
 			throw new jakarta.persistence.EntityNotFoundException("Generation job not found or does not belong to project");
@@ -353,58 +668,46 @@ public class EDAService {
 	}
 
 	/**
-	 * Helper para múltiples jobs: concatena todos los valores numéricos válidos para las métricas
-	 * indicadas, validando que cada job pertenezca al proyecto.
+	 * Valida con una sola consulta que todos los jobs pertenezcan al proyecto.
+	 * Devuelve los ids sin nulos ni repetidos.
 	 */
-	private List<Double> getNumericValuesForJobs(Long projectId, List<Long> jobIds, String metric) {
-		List<Double> all = new ArrayList<>();
-		for (Long jobId : jobIds) {
-			if (jobId == null) continue;
-			validateJobBelongsToProject(projectId, jobId);
-			all.addAll(getNumericValues(projectId, jobId, metric));
-		}
-		return all;
-	}
-
-	private List<Double> getNumericValues(Long projectId, Long jobId, String metric) {
-		List<Double> raw = switch (metric) {
-			case "plddt" -> generationJobRecordRepository.findPlddtByProjectIdAndJobId(projectId, jobId);
-			case "ptm" -> generationJobRecordRepository.findPtmByProjectIdAndJobId(projectId, jobId);
-			case "i_ptm" -> generationJobRecordRepository.findIPtmByProjectIdAndJobId(projectId, jobId);
-			case "rmsd" -> generationJobRecordRepository.findRmsdByProjectIdAndJobId(projectId, jobId);
-			case "mpnn" -> parseStringsToDoubles(generationJobRecordRepository.findMpnnByProjectIdAndJobId(projectId, jobId));
-			case "pae" -> parseStringsToDoubles(generationJobRecordRepository.findPaeByProjectIdAndJobId(projectId, jobId));
-			case "i_pae" -> parseStringsToDoubles(generationJobRecordRepository.findIPaeByProjectIdAndJobId(projectId, jobId));
-			default -> throw new IllegalArgumentException("Invalid metric: " + metric + ". Valid: " + VALID_METRICS);
-		};
-		if (raw == null) return List.of();
-		return raw.stream().filter(v -> v != null && !Double.isNaN(v)).toList();
-	}
-
-	private List<Double> parseStringsToDoubles(List<String> strings) {
-		if (strings == null) return List.of();
-		List<Double> result = new ArrayList<>();
-		for (String s : strings) {
-			if (s == null || s.isBlank()) continue;
-			try {
-				result.add(Double.parseDouble(s.trim()));
-			} catch (NumberFormatException ignored) {
-				// skip non-numeric
-			}
+	private List<Long> validateJobsBelongToProject(Long projectId, List<Long> jobIds) {
+		List<Long> ids = jobIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (!ids.isEmpty() && generationJobRepository.countByProjectIdAndIdIn(projectId, ids) != ids.size()) {
+			throw new jakarta.persistence.EntityNotFoundException("Generation job not found or does not belong to project");
 		}
-		return result;
+		return ids;
 	}
 
-	private int binIndex(double value, List<Double> bins, int numCategories) {
-		for (int i = 0; i < numCategories; i++) {
-			double low = bins.get(i);
-			double high = bins.get(i + 1);
-			if (i == numCategories - 1) {
-				if (value >= low && value <= high) return i;
-			} else {
-				if (value >= low && value < high) return i;
-			}
+	/** Las siete métricas del job con una sola consulta, leídas del cursor directo a columnas double[]. */
+	private MetricColumns loadMetricColumns(Long projectId, Long jobId) {
+		try (Stream<Object[]> rows = generationJobRecordRepository.streamMetricsByProjectIdAndJobId(projectId, jobId)) {
+			return MetricColumns.of(rows);
 		}
-		return -1;
+	}
+
+	/** Métricas de varios jobs (ya validados) con una sola consulta; sin ids, columnas vacías. */
+	private MetricColumns loadMetricColumns(Long projectId, List<Long> jobIds) {
+		if (jobIds.isEmpty()) {
+			return MetricColumns.empty();
+		}
+		try (Stream<Object[]> rows = generationJobRecordRepository.streamMetricsByProjectIdAndJobIds(projectId, jobIds)) {
+			return MetricColumns.of(rows);
+		}
+	}
+
+	/**
+	 * Valores válidos (sin null ni NaN) de la métrica para varios jobs, validando que pertenezcan al
+	 * proyecto: una sola consulta columnar para todos los jobs, en orden de job y n.
+	 */
+	private double[] getNumericValuesForJobs(Long projectId, List<Long> jobIds, String metric) {
+		validateMetrics(List.of(metric));
+		return loadMetricColumns(projectId, validateJobsBelongToProject(projectId, jobIds)).get(metric);
+	}
+
+	/** Valores válidos (sin null ni NaN) de la métrica del job, en orden de n, desde la lectura columnar. */
+	private double[] getNumericValues(Long projectId, Long jobId, String metric) {
+		validateMetrics(List.of(metric));
+		return loadMetricColumns(projectId, jobId).get(metric);
 	}
 }
\ No newline at end of file
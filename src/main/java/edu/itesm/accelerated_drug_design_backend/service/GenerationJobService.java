@@ -1,29 +1,47 @@
 package edu.itesm.accelerated_drug_design_backend.service;
 
 import edu.itesm.accelerated_drug_design_backend.cache.PdbCacheService;
+import edu.itesm.accelerated_drug_design_backend.cache.PdbEntry;
 import edu.itesm.accelerated_drug_design_backend.core.CoreSystemInterface;
+import edu.itesm.accelerated_drug_design_backend.core.MpnnDetailBatchFetcher;
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.CreateGenerationJobRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobDetailDto;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobListItem;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobRecordListDto;
+import edu.itesm.accelerated_drug_design_backend.dto.JobMaxMetricsDto;
+import edu.itesm.accelerated_drug_design_backend.dto.MpnnDetailRecord;
 import edu.itesm.accelerated_drug_design_backend.dto.ProteinMpnnRunRequest;
+import edu.itesm.accelerated_drug_design_backend.dto.RecordPdbDto;
 import edu.itesm.accelerated_drug_design_backend.dto.RecordsPageResponse;
 import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
 import edu.itesm.accelerated_drug_design_backend.entity.GenerationJob;
 import edu.itesm.accelerated_drug_design_backend.entity.GenerationJobRecord;
 import edu.itesm.accelerated_drug_design_backend.repository.BackboneRepository;
+import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRecordBulkWriter;
 import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRecordRepository;
 import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRepository;
+import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class GenerationJobService {
@@ -35,26 +53,35 @@ public class GenerationJobService {
 
 	private final GenerationJobRepository generationJobRepository;
 	private final GenerationJobRecordRepository generationJobRecordRepository;
+	private final GenerationJobRecordBulkWriter recordBulkWriter;
 	private final BackboneRepository backboneRepository;
 	private final ProjectService projectService;
 	private final CoreSystemInterface coreSystem;
+	private final MpnnDetailBatchFetcher detailBatchFetcher;
 	private final PdbCacheService pdbCache;
 	private final EDAService edaService;
+	private final boolean runPollerEnabled;
 
 	public GenerationJobService(GenerationJobRepository generationJobRepository,
 			GenerationJobRecordRepository generationJobRecordRepository,
+			GenerationJobRecordBulkWriter recordBulkWriter,
 			BackboneRepository backboneRepository,
 			ProjectService projectService,
 			CoreSystemInterface coreSystem,
+			MpnnDetailBatchFetcher detailBatchFetcher,
 			PdbCacheService pdbCache,
-			EDAService edaService) {
+			EDAService edaService,
+			@Value("${app.run-poller.enabled:true}") boolean runPollerEnabled) {
 		this.generationJobRepository = generationJobRepository;
 		this.generationJobRecordRepository = generationJobRecordRepository;
+		this.recordBulkWriter = recordBulkWriter;
 		this.backboneRepository = backboneRepository;
 		this.projectService = projectService;
 		this.coreSystem = coreSystem;
+		this.detailBatchFetcher = detailBatchFetcher;
 		this.pdbCache = pdbCache;
 		this.edaService = edaService;
+		this.runPollerEnabled = runPollerEnabled;
 	}
 
 	@Transactional(readOnly = true)
@@ -71,27 +98,33 @@ public class GenerationJobService {
 	@Transactional(readOnly = true)
 	public List<GenerationJobListItem> findListItemsByProjectId(Long projectId) {
 		List<GenerationJobListItem> items = generationJobRepository.findListItemsByProjectId(projectId);
-		for (GenerationJobListItem item : items) {
-			// Max pTM / iPTM per job
-			try {
-				Double maxPtm = generationJobRecordRepository.findMaxPtmByProjectIdAndJobId(projectId, item.getId());
-				item.setMaxPtm(maxPtm);
-				Double maxIPtm = generationJobRecordRepository.findMaxIPtmByProjectIdAndJobId(projectId, item.getId());
-				item.setMaxIPtm(maxIPtm);
-			} catch (Exception e) {
-				log.debug("Could not compute max pTM/iPTM for job {}: {}", item.getId(), e.getMessage());
-				item.setMaxPtm(null);
-				item.setMaxIPtm(null);
+		// Max pTM / iPTM and stored quality for every job of the project: one query each
+		Map<Long, JobMaxMetricsDto> maxByJob = new HashMap<>();
+		try {
+			for (JobMaxMetricsDto m : generationJobRecordRepository.findMaxMetricsByProjectId(projectId)) {
+				maxByJob.put(m.generationJobId(), m);
 			}
+		} catch (Exception e) {
+			log.debug("Could not compute max pTM/iPTM for project {}: {}", projectId, e.getMessage());
+		}
+		Map<Long, Double> qualityByJob = edaService.getStoredDatasetQualityByJob(projectId);
+
+		for (GenerationJobListItem item : items) {
+			JobMaxMetricsDto max = maxByJob.get(item.getId());
+			item.setMaxPtm(max != null ? max.maxPtm() : null);
+			item.setMaxIPtm(max != null ? max.maxIPtm() : null);
 
 			if (STATUS_COMPLETED.equals(item.getStatus())) {
-				try {
-					double q = edaService.getDatasetQuality(projectId, item.getId());
-					item.setQuality(q);
-				} catch (Exception e) {
-					log.debug("Could not compute quality for job {}: {}", item.getId(), e.getMessage());
-					item.setQuality(null);
+				Double q = qualityByJob.get(item.getId());
+				if (q == null) {
+					// Stats not stored yet (job completed before they existed): compute from the records
+					try {
+						q = edaService.getDatasetQuality(projectId, item.getId());
+					} catch (Exception e) {
+						log.debug("Could not compute quality for job {}: {}", item.getId(), e.getMessage());
+					}
 				}
+				item.setQuality(q);
 			}
 		}
 		return items;
@@ -117,14 +150,33 @@ public class GenerationJobService {
 		return generationJobRepository.findDetailByProjectIdAndJobId(projectId, jobId);
 	}
 
+	/** Best PDB hash and job status (for ETags), without loading the PDB. */
+	@Transactional(readOnly = true)
+	public Optional<ContentVersionDto> getBestPdbVersion(Long projectId, Long jobId) {
+		return generationJobRepository.findBestPdbVersionByProjectIdAndJobId(projectId, jobId);
+	}
+
+	/** Best PDB as a cached entry (possibly gzip-compressed); loaded from DB and cached on a miss. */
+	@Transactional(readOnly = true)
+	public Optional<PdbEntry> getBestPdbEntry(Long projectId, Long jobId) {
+		return pdbCache.getOrLoadBestPdb(projectId, jobId,
+				() -> generationJobRepository.findBestPdbByProjectIdAndJobId(projectId, jobId).orElse(null));
+	}
+
+	/** True when cached PDBs are gzip-compressed, so gzip clients get them gzip-encoded. */
+	public boolean isPdbGzipEncoded() {
+		return pdbCache.isGzipCompressed();
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<ContentVersionDto> getFastaVersion(Long projectId, Long jobId) {
+		return generationJobRepository.findFastaVersionByProjectIdAndJobId(projectId, jobId);
+	}
+
+	/** Completion time of the job if it is COMPLETED (records no longer change); empty otherwise. */
 	@Transactional(readOnly = true)
-	public Optional<String> getBestPdb(Long projectId, Long jobId) {
-		return pdbCache.getBestPdb(projectId, jobId)
-				.or(() -> {
-					Optional<String> fromDb = generationJobRepository.findBestPdbByProjectIdAndJobId(projectId, jobId);
-					fromDb.ifPresent(value -> pdbCache.putBestPdb(projectId, jobId, value));
-					return fromDb;
-				});
+	public Optional<Instant> getCompletedAt(Long projectId, Long jobId) {
+		return generationJobRepository.findCompletedAtByProjectIdAndJobId(projectId, jobId);
 	}
 
 	@Transactional(readOnly = true)
@@ -132,14 +184,20 @@ public class GenerationJobService {
 		return generationJobRepository.findFastaByProjectIdAndJobId(projectId, jobId);
 	}
 
+	/** Record PDB hash and job status (for ETags), without loading the PDB. */
+	@Transactional(readOnly = true)
+	public Optional<ContentVersionDto> getRecordPdbVersion(Long projectId, Long jobId, Integer n) {
+		return generationJobRecordRepository.findPdbVersionByProjectIdJobIdAndN(projectId, jobId, n);
+	}
+
+	/**
+	 * Record PDB as a cached entry (possibly gzip-compressed); loaded from DB and cached on a miss. Cached
+	 * copies are only used if their content hash matches {@code sha256}, the row's stored pdb_sha256.
+	 */
 	@Transactional(readOnly = true)
-	public Optional<String> getRecordPdb(Long projectId, Long jobId, Integer n) {
-		return pdbCache.getRecordPdb(projectId, jobId, n)
-				.or(() -> {
-					Optional<String> fromDb = generationJobRecordRepository.findPdbByProjectIdJobIdAndN(projectId, jobId, n);
-					fromDb.ifPresent(value -> pdbCache.putRecordPdb(projectId, jobId, n, value));
-					return fromDb;
-				});
+	public Optional<PdbEntry> getRecordPdbEntry(Long projectId, Long jobId, Integer n, String sha256) {
+		return pdbCache.getOrLoadRecordPdb(projectId, jobId, n, sha256,
+				() -> generationJobRecordRepository.findPdbByProjectIdJobIdAndN(projectId, jobId, n).orElse(null));
 	}
 
 	@Transactional
@@ -149,8 +207,11 @@ public class GenerationJobService {
 			return false;
 		}
 		GenerationJob job = opt.get();
-		generationJobRecordRepository.deleteByGenerationJob_Id(job.getId());
+		edaService.deleteStoredStats(job.getId());
+		generationJobRecordRepository.deleteAllByJobId(job.getId());
 		generationJobRepository.delete(job);
+		pdbCache.evictBestPdb(projectId, job.getId());
+		pdbCache.evictRecordPdbsForJob(projectId, job.getId());
 		return true;
 	}
 
@@ -180,40 +241,115 @@ public class GenerationJobService {
 		return new RecordsPageResponse(page.getContent(), totalRecords, totalBatches);
 	}
 
+	private static final String CSV_HEADER = "mpnn,plddt,ptm,i_ptm,pae,i_pae,rmsd,seq\n";
+
 	/**
-	 * Build CSV from all records for the job (list DTOs, no pdb loaded).
-	 * Returns empty string if job not found or not in project.
+	 * Writes the CSV of all records of the job (list DTOs, no pdb loaded) to {@code out}, streaming rows from a
+	 * database cursor so memory use does not grow with the job size. Writes nothing if the job is not found or
+	 * not in the project. The stream is flushed but not closed.
 	 */
 	@Transactional(readOnly = true)
-	public String buildCsvFromRecords(Long projectId, Long jobId) {
+	public void writeCsvFromRecords(Long projectId, Long jobId, OutputStream out) throws IOException {
 		if (generationJobRepository.findDetailByProjectIdAndJobId(projectId, jobId).isEmpty()) {
-			return "";
+			return;
+		}
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeCsv(jobId, writer);
+		writer.flush();
+	}
+
+	/** Header plus one row per record of the job, in n order. Must run inside a transaction (cursor). */
+	private void writeCsv(Long jobId, Writer writer) throws IOException {
+		writer.write(CSV_HEADER);
+		try (Stream<GenerationJobRecordListDto> records = generationJobRecordRepository.streamRecordsListByJobId(jobId)) {
+			Iterator<GenerationJobRecordListDto> it = records.iterator();
+			while (it.hasNext()) {
+				appendCsvRow(writer, it.next());
+			}
+		}
+	}
+
+	/**
+	 * Job ids to export: the given ones (deduplicated, in request order) or every job of the project when none
+	 * are given. Throws EntityNotFoundException if any job does not belong to the project, so the error is
+	 * reported before the download starts.
+	 */
+	@Transactional(readOnly = true)
+	public List<Long> resolveExportJobIds(Long projectId, List<Long> jobIds) {
+		if (jobIds == null || jobIds.isEmpty()) {
+			return generationJobRepository.findIdsByProjectId(projectId);
 		}
-		List<GenerationJobRecordListDto> records = generationJobRecordRepository.findRecordsListByJobIdAll(jobId);
-		if (records.isEmpty()) {
-			return "mpnn,plddt,ptm,i_ptm,pae,i_pae,rmsd,seq\n";
+		List<Long> ids = jobIds.stream().filter(Objects::nonNull).distinct().toList();
+		if (!ids.isEmpty() && generationJobRepository.countByProjectIdAndIdIn(projectId, ids) != ids.size()) {
+			throw new EntityNotFoundException("Generation job not found or does not belong to project");
 		}
-		StringBuilder sb = new StringBuilder();
-		sb.append("mpnn,plddt,ptm,i_ptm,pae,i_pae,rmsd,seq\n");
-		for (GenerationJobRecordListDto r : records) {
-			sb.append(escapeCsv(r.mpnn()));
-			sb.append(',');
-			sb.append(r.plddt() != null ? r.plddt() : "");
-			sb.append(',');
-			sb.append(r.ptm() != null ? r.ptm() : "");
-			sb.append(',');
-			sb.append(r.iPtm() != null ? r.iPtm() : "");
-			sb.append(',');
-			sb.append(escapeCsv(r.pae()));
-			sb.append(',');
-			sb.append(escapeCsv(r.iPae()));
-			sb.append(',');
-			sb.append(r.rmsd() != null ? r.rmsd() : "");
-			sb.append(',');
-			sb.append(escapeCsv(r.seq()));
-			sb.append('\n');
+		return ids;
+	}
+
+	/**
+	 * Streams a ZIP with, per job, {@code job-<id>/records.csv}, {@code sequences.fasta}, {@code best.pdb} and,
+	 * if requested, {@code records/<n>.pdb} for every record. Entries are written one at a time and record PDBs
+	 * are read from a cursor, so at most one PDB is held in memory. Jobs must come from
+	 * {@link #resolveExportJobIds}. The stream is finished but not closed.
+	 */
+	@Transactional(readOnly = true)
+	public void writeExportZip(Long projectId, List<Long> jobIds, boolean includeRecordPdbs, OutputStream out) throws IOException {
+		ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+		for (Long jobId : jobIds) {
+			String dir = "job-" + jobId + "/";
+
+			zip.putNextEntry(new ZipEntry(dir + "records.csv"));
+			writeCsv(jobId, writer);
+			writer.flush();
+			zip.closeEntry();
+
+			Optional<String> fasta = generationJobRepository.findFastaByProjectIdAndJobId(projectId, jobId);
+			if (fasta.isPresent() && fasta.get() != null) {
+				writeZipEntry(zip, writer, dir + "sequences.fasta", fasta.get());
+			}
+			Optional<String> bestPdb = generationJobRepository.findBestPdbByProjectIdAndJobId(projectId, jobId);
+			if (bestPdb.isPresent() && bestPdb.get() != null) {
+				writeZipEntry(zip, writer, dir + "best.pdb", bestPdb.get());
+			}
+
+			if (includeRecordPdbs) {
+				try (Stream<RecordPdbDto> pdbs = generationJobRecordRepository.streamPdbsByJobId(jobId)) {
+					Iterator<RecordPdbDto> it = pdbs.iterator();
+					while (it.hasNext()) {
+						RecordPdbDto r = it.next();
+						writeZipEntry(zip, writer, dir + "records/" + r.n() + ".pdb", r.pdb());
+					}
+				}
+			}
 		}
-		return sb.toString();
+		zip.finish();
+	}
+
+	private static void writeZipEntry(ZipOutputStream zip, Writer writer, String name, String content) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		writer.write(content);
+		writer.flush();
+		zip.closeEntry();
+	}
+
+	private static void appendCsvRow(Writer w, GenerationJobRecordListDto r) throws IOException {
+		w.write(escapeCsv(r.mpnn()));
+		w.write(',');
+		w.write(r.plddt() != null ? r.plddt().toString() : "");
+		w.write(',');
+		w.write(r.ptm() != null ? r.ptm().toString() : "");
+		w.write(',');
+		w.write(r.iPtm() != null ? r.iPtm().toString() : "");
+		w.write(',');
+		w.write(escapeCsv(r.pae()));
+		w.write(',');
+		w.write(escapeCsv(r.iPae()));
+		w.write(',');
+		w.write(r.rmsd() != null ? r.rmsd().toString() : "");
+		w.write(',');
+		w.write(escapeCsv(r.seq()));
+		w.write('\n');
 	}
 
 	private static String escapeCsv(String value) {
@@ -271,6 +407,20 @@ public class GenerationJobService {
 		return job;
 	}
 
+	/** True when {@link RunStatusPoller} keeps run status current, so status reads need not call the core. */
+	public boolean isRunPollerEnabled() {
+		return runPollerEnabled;
+	}
+
+	/**
+	 * Stored status for the GET .../status/{runId} endpoint (plain DB read, kept current by
+	 * {@link RunStatusPoller}). Without the poller, use {@link #checkRunStatus}.
+	 */
+	@Transactional(readOnly = true)
+	public GenerationJob getRunStatus(Long projectId, String runId) {
+		return generationJobRepository.findByProject_IdAndRunId(projectId, runId).orElse(null);
+	}
+
 	@Transactional
 	public GenerationJob checkRunStatus(Long projectId, String runId) {
 		GenerationJob job = generationJobRepository.findByProject_IdAndRunId(projectId, runId).orElse(null);
@@ -312,17 +462,22 @@ public class GenerationJobService {
 				job.setCompletedAt(Instant.now());
 			}
 
-			generationJobRecordRepository.deleteByGenerationJob_Id(job.getId());
+			// Bulk delete (single statement) so the JDBC inserts below never collide with pending entity removals
+			generationJobRecordRepository.deleteAllByJobId(job.getId());
 
-			// Core detail is on GET /run/mpnn/status/{run_id}/detail?batch=N; fetch each batch and save records
+			// Core detail is on GET /run/mpnn/status/{run_id}/detail?batch=N; batches are downloaded in parallel
+			// and streamed record by record, in batch order, into the JDBC-batched ingest sink. A failed batch
+			// throws and rolls the whole completion back (job stays RUNNING), so the poller retries it later.
 			int batches = totalBatches != null && totalBatches > 0 ? totalBatches : 0;
-			for (int b = 0; b < batches; b++) {
-				Map<String, Object> detailResponse = coreSystem.getMpnnStatusDetail(runId, b);
-				if (detailResponse != null) {
-					saveDetailRecordsFromResponse(job, detailResponse, fastaContent);
-				}
-			}
+			RecordIngestSink sink = new RecordIngestSink(job, FastaIndex.of(parseFastaMetrics(fastaContent)));
+			detailBatchFetcher.fetchInOrder(runId, batches, (b, detailRecord) -> sink.accept(detailRecord));
+			sink.flush();
+			log.info("Ingested {} records for jobId={} in {} ms of inserts ({} rows/s, JDBC batch size {})", sink.rows, job.getId(),
+					sink.insertNanos / 1_000_000, GenerationJobRecordBulkWriter.rowsPerSecond(sink.rows, sink.insertNanos),
+					recordBulkWriter.getBatchSize());
 			generationJobRepository.save(job);
+			// Records are final now: store per-metric stats so EDA reads don't rescan them
+			edaService.refreshStoredStats(projectId, job.getId());
 			// Evict cached PDBs so next read loads fresh best PDB and record PDBs from DB
 			pdbCache.evictBestPdb(projectId, job.getId());
 			pdbCache.evictRecordPdbsForJob(projectId, job.getId());
@@ -342,45 +497,75 @@ public class GenerationJobService {
 		return job;
 	}
 
-	@SuppressWarnings("unchecked")
-	private void saveDetailRecordsFromResponse(GenerationJob job, Map<String, Object> batchResponse, String fastaContent) {
-		Object recordsObj = batchResponse.get("detail");
-		if (recordsObj == null) recordsObj = batchResponse.get("records");
-		if (recordsObj == null) recordsObj = batchResponse.get("detail_records");
-		if (!(recordsObj instanceof List)) return;
-		List<Map<String, Object>> records = (List<Map<String, Object>>) recordsObj;
-
-		List<FastaEntry> fastaEntries = parseFastaMetrics(fastaContent);
-		Map<Integer, FastaEntry> byN = new HashMap<>();
-		Map<String, FastaEntry> bySeq = new HashMap<>();
-		for (FastaEntry e : fastaEntries) {
-			if (e.n >= 0) byN.putIfAbsent(e.n, e);
-			String norm = normalizeSeq(e.sequence);
-			if (!norm.isEmpty()) bySeq.putIfAbsent(norm, e);
+	/**
+	 * Receives detail records one at a time, applies FASTA metrics and buffers them until a full
+	 * JDBC batch (app.ingest.record-batch-size) can be written.
+	 */
+	private class RecordIngestSink {
+		private final GenerationJob job;
+		private final FastaIndex fastaIndex;
+		private final List<GenerationJobRecord> buffer;
+		long rows;
+		long insertNanos;
+
+		RecordIngestSink(GenerationJob job, FastaIndex fastaIndex) {
+			this.job = job;
+			this.fastaIndex = fastaIndex;
+			this.buffer = new ArrayList<>(recordBulkWriter.getBatchSize());
+		}
+
+		void accept(MpnnDetailRecord detail) {
+			GenerationJobRecord record = mapToRecord(job, detail);
+			String recordSeq = normalizeSeq(record.getSeq());
+			FastaEntry match = fastaIndex.match(record.getN(), recordSeq);
+			if (match != null) {
+				applyFastaMetricsToRecord(record, match);
+			} else {
+				log.warn("No FASTA match for generation_jobs_record jobId={} n={} seq={}", job.getId(), record.getN(), recordSeq != null && recordSeq.length() > 50 ? recordSeq.substring(0, 50) + "..." : recordSeq);
+			}
+			buffer.add(record);
+			if (buffer.size() >= recordBulkWriter.getBatchSize()) {
+				flush();
+			}
 		}
 
-		for (Map<String, Object> row : records) {
-			GenerationJobRecord record = mapToRecord(job, row);
-			if (record == null) continue;
+		void flush() {
+			if (buffer.isEmpty()) return;
+			long t0 = System.nanoTime();
+			rows += recordBulkWriter.insertAll(buffer);
+			insertNanos += System.nanoTime() - t0;
+			buffer.clear();
+		}
+	}
 
+	/** FASTA entries indexed by n and by normalized sequence; built once per job. */
+	private static class FastaIndex {
+		final Map<Integer, FastaEntry> byN = new HashMap<>();
+		final Map<String, FastaEntry> bySeq = new HashMap<>();
+
+		static FastaIndex of(List<FastaEntry> fastaEntries) {
+			FastaIndex index = new FastaIndex();
+			for (FastaEntry e : fastaEntries) {
+				if (e.n >= 0) index.byN.putIfAbsent(e.n, e);
+				String norm = normalizeSeq(e.sequence);
+				if (!norm.isEmpty()) index.bySeq.putIfAbsent(norm, e);
+			}
+			return index;
+		}
+
+		/** Match by n (only if the sequence agrees), then by sequence. */
+		FastaEntry match(Integer n, String normalizedSeq) {
 			FastaEntry match = null;
-			Integer n = record.getN();
-			String recordSeq = normalizeSeq(record.getSeq());
 			if (n != null) {
 				FastaEntry byNEntry = byN.get(n);
-				if (byNEntry != null && recordSeq.equals(normalizeSeq(byNEntry.sequence))) {
+				if (byNEntry != null && normalizedSeq.equals(normalizeSeq(byNEntry.sequence))) {
 					match = byNEntry;
 				}
 			}
-			if (match == null && recordSeq != null && !recordSeq.isEmpty()) {
-				match = bySeq.get(recordSeq);
-			}
-			if (match != null) {
-				applyFastaMetricsToRecord(record, match);
-			} else {
-				log.warn("No FASTA match for generation_jobs_record jobId={} n={} seq={}", job.getId(), record.getN(), recordSeq != null && recordSeq.length() > 50 ? recordSeq.substring(0, 50) + "..." : recordSeq);
+			if (match == null && normalizedSeq != null && !normalizedSeq.isEmpty()) {
+				match = bySeq.get(normalizedSeq);
 			}
-			generationJobRecordRepository.save(record);
+			return match;
 		}
 	}
 
@@ -476,30 +661,20 @@ public class GenerationJobService {
 		}
 	}
 
-	private static GenerationJobRecord mapToRecord(GenerationJob job, Map<String, Object> row) {
-		Integer n = getInteger(row, "n");
-		if (n == null) {
-			Object nObj = row.get("n");
-			if (nObj instanceof Number) n = ((Number) nObj).intValue();
-		}
-		if (n == null) return null;
+	private static GenerationJobRecord mapToRecord(GenerationJob job, MpnnDetailRecord detail) {
 		GenerationJobRecord record = new GenerationJobRecord();
 		record.setGenerationJobId(job.getId());
-		record.setN(n);
+		record.setN(detail.n());
 		record.setGenerationJob(job);
-		record.setSeq(getString(row, "seq"));
-		record.setMpnn(getString(row, "mpnn"));
-		// Prefer pdb_content (full PDB text) from status response, then pdb, then pdb_path
-		String pdbVal = getString(row, "pdb_content");
-		if (pdbVal == null) pdbVal = getString(row, "pdb");
-		if (pdbVal == null) pdbVal = getString(row, "pdb_path");
-		record.setPdb(pdbVal);
-		record.setPlddt(parseDoubleFromMap(row, "plddt"));
-		record.setPtm(parseDoubleFromMap(row, "ptm"));
-		record.setIPtm(parseDoubleFromMap(row, "i_ptm"));
-		record.setPae(getString(row, "pae"));
-		record.setIPae(getStringOrFromMetrics(row, "i_pae"));
-		record.setRmsd(parseDoubleFromMap(row, "rmsd"));
+		record.setSeq(detail.seq());
+		record.setMpnn(detail.mpnn());
+		record.setPdb(detail.pdb());
+		record.setPlddt(detail.plddt());
+		record.setPtm(detail.ptm());
+		record.setIPtm(detail.iPtm());
+		record.setPae(detail.pae());
+		record.setIPae(detail.iPae());
+		record.setRmsd(detail.rmsd());
 		return record;
 	}
 
@@ -510,13 +685,6 @@ public class GenerationJobService {
 		return null;
 	}
 
-	private static Double parseDoubleFromMap(Map<String, Object> map, String key) {
-		Object v = map.get(key);
-		if (v == null) return null;
-		if (v instanceof Number) return ((Number) v).doubleValue();
-		return parseDouble(v.toString());
-	}
-
 	private static Double parseDouble(String s) {
 		if (s == null || s.isBlank()) return null;
 		try {
@@ -533,18 +701,6 @@ public class GenerationJobService {
 		return String.valueOf(v);
 	}
 
-	/** Gets string from row, or from row.metrics if present (status API may nest metrics). */
-	private static String getStringOrFromMetrics(Map<String, Object> row, String key) {
-		String s = getString(row, key);
-		if (s != null) return s;
-		Map<String, Object> metrics = getMap(row, "metrics");
-		if (metrics != null) {
-			s = getString(metrics, key);
-			if (s != null) return s;
-		}
-		return null;
-	}
-
 	private static Integer getInteger(Map<String, Object> map, String key) {
 		Object v = map.get(key);
 		if (v == null) return null;
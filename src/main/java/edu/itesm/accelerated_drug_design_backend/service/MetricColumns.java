@@ -0,0 +1,101 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Columnar view of the EDA metrics of a set of records: one primitive {@code double[]} per metric.
+ * Each column keeps only its usable values (no nulls or NaN), so columns of the
+ * same dataset may have different lengths. Filled from a single
+ * {@link edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRecordRepository#streamMetricsByProjectIdAndJobId}
+ * cursor instead of one query per metric, one tuple at a time.
+ */
+final class MetricColumns {
+
+	private static final double[] EMPTY = new double[0];
+	private static final MetricColumns NONE = new MetricColumns(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+
+	private final double[] plddt;
+	private final double[] ptm;
+	private final double[] iPtm;
+	private final double[] rmsd;
+	private final double[] mpnn;
+	private final double[] pae;
+	private final double[] iPae;
+
+	private MetricColumns(double[] plddt, double[] ptm, double[] iPtm, double[] rmsd,
+			double[] mpnn, double[] pae, double[] iPae) {
+		this.plddt = plddt;
+		this.ptm = ptm;
+		this.iPtm = iPtm;
+		this.rmsd = rmsd;
+		this.mpnn = mpnn;
+		this.pae = pae;
+		this.iPae = iPae;
+	}
+
+	static MetricColumns empty() {
+		return NONE;
+	}
+
+	/**
+	 * Reads every tuple of {@code rows}, in the select order of the metric queries:
+	 * plddt, ptm, i_ptm, rmsd, mpnn, pae, i_pae. Does not close the stream.
+	 */
+	static MetricColumns of(Stream<Object[]> rows) {
+		Column plddt = new Column();
+		Column ptm = new Column();
+		Column iPtm = new Column();
+		Column rmsd = new Column();
+		Column mpnn = new Column();
+		Column pae = new Column();
+		Column iPae = new Column();
+		rows.forEach(row -> {
+			plddt.add(row[0]);
+			ptm.add(row[1]);
+			iPtm.add(row[2]);
+			rmsd.add(row[3]);
+			mpnn.add(row[4]);
+			pae.add(row[5]);
+			iPae.add(row[6]);
+		});
+		return new MetricColumns(plddt.toArray(), ptm.toArray(), iPtm.toArray(), rmsd.toArray(),
+				mpnn.toArray(), pae.toArray(), iPae.toArray());
+	}
+
+	/** Values of the metric (mpnn, plddt, ptm, i_ptm, pae, i_pae, rmsd). The array is shared: do not modify it. */
+	double[] get(String metric) {
+		return switch (metric) {
+			case "plddt" -> plddt;
+			case "ptm" -> ptm;
+			case "i_ptm" -> iPtm;
+			case "rmsd" -> rmsd;
+			case "mpnn" -> mpnn;
+			case "pae" -> pae;
+			case "i_pae" -> iPae;
+			default -> throw new IllegalArgumentException("Invalid metric: " + metric);
+		};
+	}
+
+	/** Growable primitive buffer, trimmed once filled. */
+	private static final class Column {
+		private double[] values = new double[256];
+		private int size;
+
+		void add(Object v) {
+			if (v instanceof Number n) {
+				double d = n.doubleValue();
+				if (!Double.isNaN(d)) {
+					if (size == values.length) {
+						values = Arrays.copyOf(values, size * 2);
+					}
+					values[size++] = d;
+				}
+			}
+		}
+
+		double[] toArray() {
+			return size == 0 ? EMPTY : Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ProjectService {
@@ -40,23 +41,23 @@ public class ProjectService {
 	}
 
 	public String getTarget(Long projectId) {
-		return pdbCache.getTarget(projectId)
-				.orElseGet(() -> {
-					String value = projectRepository.findTargetById(projectId)
-							.orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
-					pdbCache.putTarget(projectId, value);
-					return value;
-				});
+		return pdbCache.getOrLoadTarget(projectId, () -> projectRepository.findTargetById(projectId)
+				.orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId)));
 	}
 
 	public String getComplex(Long projectId) {
-		return pdbCache.getComplex(projectId)
-				.orElseGet(() -> {
-					String value = projectRepository.findComplexById(projectId)
-							.orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
-					pdbCache.putComplex(projectId, value);
-					return value;
-				});
+		return pdbCache.getOrLoadComplex(projectId, () -> projectRepository.findComplexById(projectId)
+				.orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId)));
+	}
+
+	/** SHA-256 of the stored target (for ETags); empty if the project or its hash does not exist. */
+	public Optional<String> getTargetSha256(Long projectId) {
+		return projectRepository.findTargetSha256ById(projectId);
+	}
+
+	/** SHA-256 of the stored complex (for ETags); empty if the project or its hash does not exist. */
+	public Optional<String> getComplexSha256(Long projectId) {
+		return projectRepository.findComplexSha256ById(projectId);
 	}
 
 	public Project createProject(CreateProjectRequest request) {
@@ -0,0 +1,173 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import edu.itesm.accelerated_drug_design_backend.dto.RunRef;
+import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
+import edu.itesm.accelerated_drug_design_backend.entity.GenerationJob;
+import edu.itesm.accelerated_drug_design_backend.repository.BackboneRepository;
+import edu.itesm.accelerated_drug_design_backend.repository.GenerationJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background reconciler for RFdiffusion (backbones) and MPNN (generation jobs) runs.
+ * Each tick lists runs not yet COMPLETED/ERROR, polls the core for the ones that are due and persists
+ * transitions through {@link BackboneService#checkRunStatus} / {@link GenerationJobService#checkRunStatus}.
+ * Polling uses an adaptive backoff per run: the delay resets to min-delay-ms when the status changes and
+ * doubles (up to max-delay-ms) while it stays the same. At most max-concurrency runs are polled at once.
+ * With the poller enabled, the status endpoints only read the DB.
+ */
+@Component
+public class RunStatusPoller {
+
+	private static final Logger log = LoggerFactory.getLogger(RunStatusPoller.class);
+
+	private enum RunKind { BACKBONE, JOB }
+
+	private final BackboneService backboneService;
+	private final GenerationJobService generationJobService;
+	private final BackboneRepository backboneRepository;
+	private final GenerationJobRepository generationJobRepository;
+	private final boolean enabled;
+	private final long minDelayMs;
+	private final long maxDelayMs;
+	private final Semaphore permits;
+	private final ExecutorService executor;
+	private final ConcurrentHashMap<String, PollState> states = new ConcurrentHashMap<>();
+
+	public RunStatusPoller(BackboneService backboneService,
+			GenerationJobService generationJobService,
+			BackboneRepository backboneRepository,
+			GenerationJobRepository generationJobRepository,
+			@Value("${app.run-poller.enabled:true}") boolean enabled,
+			@Value("${app.run-poller.min-delay-ms:2000}") long minDelayMs,
+			@Value("${app.run-poller.max-delay-ms:60000}") long maxDelayMs,
+			@Value("${app.run-poller.max-concurrency:4}") int maxConcurrency) {
+		this.backboneService = backboneService;
+		this.generationJobService = generationJobService;
+		this.backboneRepository = backboneRepository;
+		this.generationJobRepository = generationJobRepository;
+		this.enabled = enabled;
+		this.minDelayMs = Math.max(1, minDelayMs);
+		this.maxDelayMs = Math.max(this.minDelayMs, maxDelayMs);
+		int concurrency = Math.max(1, maxConcurrency);
+		this.permits = new Semaphore(concurrency);
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+			Thread t = new Thread(r, "run-poller-" + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	@Scheduled(initialDelayString = "${app.run-poller.tick-ms:2000}", fixedDelayString = "${app.run-poller.tick-ms:2000}")
+	public void tick() {
+		if (!enabled) {
+			return;
+		}
+		List<RunRef> backboneRuns;
+		List<RunRef> jobRuns;
+		try {
+			backboneRuns = backboneRepository.findActiveRuns();
+			jobRuns = generationJobRepository.findActiveRuns();
+		} catch (Exception e) {
+			log.warn("Run poller could not list active runs: {}", e.getMessage());
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		Set<String> active = new HashSet<>();
+		for (RunRef run : backboneRuns) {
+			active.add(scheduleIfDue(RunKind.BACKBONE, run, now));
+		}
+		for (RunRef run : jobRuns) {
+			active.add(scheduleIfDue(RunKind.JOB, run, now));
+		}
+		// Forget runs that finished (or were deleted) since the last tick
+		states.keySet().retainAll(active);
+	}
+
+	private String scheduleIfDue(RunKind kind, RunRef run, long now) {
+		String key = kind + ":" + run.projectId() + ":" + run.runId();
+		PollState state = states.computeIfAbsent(key, k -> new PollState(now, minDelayMs));
+		if (state.nextPollAt > now || !state.inFlight.compareAndSet(false, true)) {
+			return key;
+		}
+		if (!permits.tryAcquire()) {
+			// Concurrency cap reached; retry on the next tick
+			state.inFlight.set(false);
+			return key;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					poll(kind, run, state);
+				} finally {
+					state.inFlight.set(false);
+					permits.release();
+				}
+			});
+		} catch (RuntimeException e) {
+			state.inFlight.set(false);
+			permits.release();
+			log.warn("Run poller could not schedule {}: {}", key, e.getMessage());
+		}
+		return key;
+	}
+
+	private void poll(RunKind kind, RunRef run, PollState state) {
+		String status = state.lastStatus;
+		try {
+			if (kind == RunKind.BACKBONE) {
+				List<Backbone> backbones = backboneService.checkRunStatus(run.projectId(), run.runId());
+				status = backbones.isEmpty() ? null : backbones.get(0).getStatus();
+			} else {
+				GenerationJob job = generationJobService.checkRunStatus(run.projectId(), run.runId());
+				status = job != null ? job.getStatus() : null;
+			}
+		} catch (Exception e) {
+			log.warn("Run poller failed for {} runId={}: {}", kind, run.runId(), e.getMessage(), e);
+		}
+
+		if (status != null && !Objects.equals(status, state.lastStatus)) {
+			log.debug("Run {} runId={} status {} -> {}", kind, run.runId(), state.lastStatus, status);
+			state.lastStatus = status;
+			state.delayMs = minDelayMs;
+		} else {
+			state.delayMs = Math.min(state.delayMs * 2, maxDelayMs);
+		}
+		state.nextPollAt = System.currentTimeMillis() + state.delayMs;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/** Backoff state for one run. Mutated only by the worker polling it (guarded by inFlight). */
+	private static class PollState {
+		final AtomicBoolean inFlight = new AtomicBoolean(false);
+		volatile long nextPollAt;
+		volatile long delayMs;
+		volatile String lastStatus;
+
+		PollState(long nextPollAt, long delayMs) {
+			this.nextPollAt = nextPollAt;
+			this.delayMs = delayMs;
+		}
+	}
+}
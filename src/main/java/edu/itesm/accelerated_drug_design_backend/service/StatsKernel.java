@@ -0,0 +1,141 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Descriptive statistics over primitive {@code double[]} values.
+ * Central moments up to the fourth are accumulated in a single pass with the Welford/Terriberry update
+ * (numerically stable, no {@code Math.pow}), min/max in the same pass, and quartiles by linear interpolation
+ * over one primitive sort. Variance is the population variance, skew is {@code m3 / std^3} and kurtosis is
+ * the excess kurtosis {@code m4 / var^2 - 3}; both are NaN when all values are equal.
+ */
+public final class StatsKernel {
+
+	private StatsKernel() {
+	}
+
+	public record Summary(
+			int count,
+			double mean,
+			double variance,
+			double std,
+			double min,
+			double p25,
+			double p50,
+			double p75,
+			double max,
+			double skew,
+			double kurtosis
+	) {}
+
+	/** Statistics of the values; the array is not modified. */
+	public static Summary summarize(double[] values) {
+		return summarizeInPlace(values.clone());
+	}
+
+	/** Same as {@link #summarize} but sorts {@code values} in place, avoiding the copy. */
+	public static Summary summarizeInPlace(double[] values) {
+		if (values.length == 0) {
+			throw new IllegalArgumentException("values must not be empty");
+		}
+		Moments m = moments(values);
+		Arrays.sort(values);
+		return new Summary(values.length, m.mean(), m.variance(), m.std(), m.min(),
+				percentileOfSorted(values, 25), percentileOfSorted(values, 50), percentileOfSorted(values, 75),
+				m.max(), m.skew(), m.kurtosis());
+	}
+
+	/** Count, mean, central moment sums m2..m4, min and max of the values in a single pass. */
+	public static Moments moments(double[] values) {
+		int n = values.length;
+		double mean = 0.0;
+		double m2 = 0.0;
+		double m3 = 0.0;
+		double m4 = 0.0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			double x = values[i];
+			if (x < min) min = x;
+			if (x > max) max = x;
+
+			long k = i + 1;
+			double delta = x - mean;
+			double deltaN = delta / k;
+			double deltaN2 = deltaN * deltaN;
+			double term1 = delta * deltaN * i;
+			mean += deltaN;
+			m4 += term1 * deltaN2 * (k * k - 3 * k + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+			m3 += term1 * deltaN * (k - 2) - 3 * deltaN * m2;
+			m2 += term1;
+		}
+		return new Moments(n, mean, m2, m3, m4, min, max);
+	}
+
+	/**
+	 * Mergeable moments of a dataset: {@code m2..m4} are sums of powers of deviations from the mean.
+	 * Two summaries combine exactly (Chan/Pébay pairwise update), so per-job moments can be merged
+	 * into the moments of a multi-job dataset without the raw values.
+	 */
+	public record Moments(long count, double mean, double m2, double m3, double m4, double min, double max) {
+
+		public static final Moments EMPTY = new Moments(0, 0.0, 0.0, 0.0, 0.0,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+		public Moments merge(Moments other) {
+			if (other.count == 0) return this;
+			if (count == 0) return other;
+			double na = count;
+			double nb = other.count;
+			double n = na + nb;
+			double delta = other.mean - mean;
+			double delta2 = delta * delta;
+			double delta3 = delta2 * delta;
+			double delta4 = delta2 * delta2;
+			double mergedMean = mean + delta * nb / n;
+			double mergedM2 = m2 + other.m2 + delta2 * na * nb / n;
+			double mergedM3 = m3 + other.m3
+					+ delta3 * na * nb * (na - nb) / (n * n)
+					+ 3.0 * delta * (na * other.m2 - nb * m2) / n;
+			double mergedM4 = m4 + other.m4
+					+ delta4 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+					+ 6.0 * delta2 * (na * na * other.m2 + nb * nb * m2) / (n * n)
+					+ 4.0 * delta * (na * other.m3 - nb * m3) / n;
+			return new Moments(count + other.count, mergedMean, mergedM2, mergedM3, mergedM4,
+					Math.min(min, other.min), Math.max(max, other.max));
+		}
+
+		/** Population variance. */
+		public double variance() {
+			return count > 0 ? m2 / count : Double.NaN;
+		}
+
+		public double std() {
+			return Math.sqrt(variance());
+		}
+
+		/** {@code m3 / std^3}; NaN when all values are equal. */
+		public double skew() {
+			double variance = variance();
+			double std = Math.sqrt(variance);
+			return std > 0 ? (m3 / count) / (variance * std) : Double.NaN;
+		}
+
+		/** Excess kurtosis {@code m4 / var^2 - 3}; NaN when all values are equal. */
+		public double kurtosis() {
+			double variance = variance();
+			return variance > 0 ? (m4 / count) / (variance * variance) - 3.0 : Double.NaN;
+		}
+	}
+
+	/** Percentile p (0–100) of sorted values, interpolating linearly between the closest ranks. */
+	public static double percentileOfSorted(double[] sorted, double p) {
+		int n = sorted.length;
+		if (n == 1) return sorted[0];
+		double index = p / 100.0 * (n - 1);
+		int lo = (int) Math.floor(index);
+		int hi = Math.min(lo + 1, n - 1);
+		double w = index - lo;
+		return sorted[lo] * (1 - w) + sorted[hi] * w;
+	}
+}
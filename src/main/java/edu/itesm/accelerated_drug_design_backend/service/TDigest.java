@@ -0,0 +1,217 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Merging t-digest (Dunning) for approximate quantiles of a metric. A digest is a sorted list of centroids
+ * (mean, weight) whose size is bounded by the compression parameter; centroids near the tails stay small,
+ * so extreme percentiles keep good accuracy. Digests of different jobs merge into the digest of the
+ * combined dataset, which is what lets multi-job EDA answer percentiles without reading raw rows.
+ * With {@link #DEFAULT_COMPRESSION} a percentile (of a single or merged digest) is within 1% of the count in
+ * rank of the exact one. Instances are immutable; exact min and max are kept alongside the centroids.
+ */
+public final class TDigest {
+
+	public static final double DEFAULT_COMPRESSION = 100.0;
+
+	private static final byte FORMAT_VERSION = 1;
+
+	private final double compression;
+	private final double[] means;
+	private final double[] weights;
+	private final double totalWeight;
+	private final double min;
+	private final double max;
+
+	private TDigest(double compression, double[] means, double[] weights, double min, double max) {
+		this.compression = compression;
+		this.means = means;
+		this.weights = weights;
+		double total = 0.0;
+		for (double w : weights) total += w;
+		this.totalWeight = total;
+		this.min = min;
+		this.max = max;
+	}
+
+	/** Digest of sorted values (each value is a centroid of weight 1 before compression). */
+	public static TDigest ofSorted(double[] sorted, double compression) {
+		double[] ones = new double[sorted.length];
+		Arrays.fill(ones, 1.0);
+		double min = sorted.length > 0 ? sorted[0] : Double.NaN;
+		double max = sorted.length > 0 ? sorted[sorted.length - 1] : Double.NaN;
+		return compress(compression, sorted, ones, sorted.length, min, max);
+	}
+
+	/** Digest of the values; the array is not modified. */
+	public static TDigest of(double[] values, double compression) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return ofSorted(sorted, compression);
+	}
+
+	/** Digest of the union of the given digests (empty digests are skipped). */
+	public static TDigest merge(List<TDigest> digests) {
+		int size = 0;
+		double compression = DEFAULT_COMPRESSION;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (TDigest d : digests) {
+			if (d.isEmpty()) continue;
+			size += d.means.length;
+			compression = d.compression;
+			min = Math.min(min, d.min);
+			max = Math.max(max, d.max);
+		}
+		if (size == 0) {
+			return new TDigest(compression, new double[0], new double[0], Double.NaN, Double.NaN);
+		}
+
+		double[] means = new double[size];
+		double[] weights = new double[size];
+		int pos = 0;
+		for (TDigest d : digests) {
+			System.arraycopy(d.means, 0, means, pos, d.means.length);
+			System.arraycopy(d.weights, 0, weights, pos, d.weights.length);
+			pos += d.means.length;
+		}
+		sortByMean(means, weights);
+		return compress(compression, means, weights, size, min, max);
+	}
+
+	public boolean isEmpty() {
+		return means.length == 0;
+	}
+
+	public double count() {
+		return totalWeight;
+	}
+
+	public int centroidCount() {
+		return means.length;
+	}
+
+	/**
+	 * Approximate percentile p (0–100) with the same convention as the exact path: position
+	 * {@code p/100 * (n-1)} interpolated linearly, here between centroid centres (and min/max at the ends).
+	 */
+	public double percentile(double p) {
+		if (isEmpty()) return Double.NaN;
+		if (means.length == 1 || totalWeight <= 1.0) return means[0];
+
+		double target = p / 100.0 * (totalWeight - 1.0);
+		double prevPos = 0.0;
+		double prevValue = min;
+		double cumulative = 0.0;
+		for (int i = 0; i < means.length; i++) {
+			double center = cumulative + (weights[i] - 1.0) / 2.0;
+			if (target <= center) {
+				return interpolate(prevPos, prevValue, center, means[i], target);
+			}
+			prevPos = center;
+			prevValue = means[i];
+			cumulative += weights[i];
+		}
+		return interpolate(prevPos, prevValue, totalWeight - 1.0, max, target);
+	}
+
+	private static double interpolate(double x0, double y0, double x1, double y1, double x) {
+		if (x1 <= x0) return y1;
+		double w = (x - x0) / (x1 - x0);
+		return y0 * (1 - w) + y1 * w;
+	}
+
+	/** Compact binary form (version, compression, min, max, centroids) for the stats table. */
+	public byte[] toBytes() {
+		ByteBuffer buf = ByteBuffer.allocate(1 + 8 * 3 + 4 + means.length * 16);
+		buf.put(FORMAT_VERSION);
+		buf.putDouble(compression);
+		buf.putDouble(min);
+		buf.putDouble(max);
+		buf.putInt(means.length);
+		for (int i = 0; i < means.length; i++) {
+			buf.putDouble(means[i]);
+			buf.putDouble(weights[i]);
+		}
+		return buf.array();
+	}
+
+	public static TDigest fromBytes(byte[] bytes) {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		byte version = buf.get();
+		if (version != FORMAT_VERSION) {
+			throw new IllegalArgumentException("Unsupported t-digest format version: " + version);
+		}
+		double compression = buf.getDouble();
+		double min = buf.getDouble();
+		double max = buf.getDouble();
+		int size = buf.getInt();
+		double[] means = new double[size];
+		double[] weights = new double[size];
+		for (int i = 0; i < size; i++) {
+			means[i] = buf.getDouble();
+			weights[i] = buf.getDouble();
+		}
+		return new TDigest(compression, means, weights, min, max);
+	}
+
+	/**
+	 * One left-to-right pass over centroids sorted by mean, merging neighbours while the merged centroid
+	 * spans at most one unit of the k1 scale function {@code k(q) = compression / (2π) · asin(2q − 1)}.
+	 */
+	private static TDigest compress(double compression, double[] means, double[] weights, int size,
+			double min, double max) {
+		if (size == 0) {
+			return new TDigest(compression, new double[0], new double[0], min, max);
+		}
+		double total = 0.0;
+		for (int i = 0; i < size; i++) total += weights[i];
+
+		double[] outMeans = new double[size];
+		double[] outWeights = new double[size];
+		int out = 0;
+		double curMean = means[0];
+		double curWeight = weights[0];
+		double weightSoFar = 0.0;
+		double kLeft = k(0.0, compression);
+		for (int i = 1; i < size; i++) {
+			double proposed = curWeight + weights[i];
+			double qRight = (weightSoFar + proposed) / total;
+			if (k(qRight, compression) - kLeft <= 1.0) {
+				curMean += (means[i] - curMean) * weights[i] / proposed;
+				curWeight = proposed;
+			} else {
+				outMeans[out] = curMean;
+				outWeights[out] = curWeight;
+				out++;
+				weightSoFar += curWeight;
+				kLeft = k(weightSoFar / total, compression);
+				curMean = means[i];
+				curWeight = weights[i];
+			}
+		}
+		outMeans[out] = curMean;
+		outWeights[out] = curWeight;
+		out++;
+		return new TDigest(compression, Arrays.copyOf(outMeans, out), Arrays.copyOf(outWeights, out), min, max);
+	}
+
+	private static double k(double q, double compression) {
+		return compression / (2 * Math.PI) * Math.asin(Math.max(-1.0, Math.min(1.0, 2 * q - 1)));
+	}
+
+	/** Sorts both arrays by mean, keeping each weight with its centroid. */
+	private static void sortByMean(double[] means, double[] weights) {
+		Integer[] order = new Integer[means.length];
+		for (int i = 0; i < order.length; i++) order[i] = i;
+		Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+		double[] m = means.clone();
+		double[] w = weights.clone();
+		for (int i = 0; i < order.length; i++) {
+			means[i] = m[order[i]];
+			weights[i] = w[order[i]];
+		}
+	}
+}
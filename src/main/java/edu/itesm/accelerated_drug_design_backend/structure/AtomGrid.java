@@ -0,0 +1,150 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform cell list over atom coordinates for fixed-radius neighbour queries (contacts, CA neighbours).
+ * Coordinates are copied into primitive {@code float[]} arrays ordered by cell, so a query only scans the
+ * cells overlapping the query sphere and compares squared distances (no {@code sqrt}). With the cell size
+ * equal to the usual query radius a query visits 27 cells, which turns all-pairs O(N·M) counting into
+ * roughly O(N + M) for protein-like densities. Immutable and safe for concurrent queries.
+ * <p>
+ * Query results are indices into the original coordinate order of the input arrays.
+ */
+public final class AtomGrid {
+
+	/** Upper bound on cells; sparse, very large boxes get a coarser grid instead of a huge index. */
+	private static final long MAX_CELLS = 1L << 22;
+
+	private final double cellSize;
+	private final double minX;
+	private final double minY;
+	private final double minZ;
+	private final int nx;
+	private final int ny;
+	private final int nz;
+	/** Atoms of cell c are positions {@code cellStart[c] .. cellStart[c+1]-1} of the sorted arrays. */
+	private final int[] cellStart;
+	private final float[] xs;
+	private final float[] ys;
+	private final float[] zs;
+	/** Original index of each sorted position. */
+	private final int[] originalIndex;
+
+	private AtomGrid(float[] x, float[] y, float[] z, double cellSize) {
+		if (!(cellSize > 0)) {
+			throw new IllegalArgumentException("cellSize must be > 0");
+		}
+		int n = x.length;
+		double lx = Double.POSITIVE_INFINITY, ly = Double.POSITIVE_INFINITY, lz = Double.POSITIVE_INFINITY;
+		double hx = Double.NEGATIVE_INFINITY, hy = Double.NEGATIVE_INFINITY, hz = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			lx = Math.min(lx, x[i]); hx = Math.max(hx, x[i]);
+			ly = Math.min(ly, y[i]); hy = Math.max(hy, y[i]);
+			lz = Math.min(lz, z[i]); hz = Math.max(hz, z[i]);
+		}
+		if (n == 0) {
+			lx = ly = lz = hx = hy = hz = 0.0;
+		}
+
+		double size = cellSize;
+		long cells = cellCount(hx - lx, hy - ly, hz - lz, size);
+		while (cells > MAX_CELLS) {
+			size *= Math.cbrt((double) cells / MAX_CELLS) * 1.01;
+			cells = cellCount(hx - lx, hy - ly, hz - lz, size);
+		}
+		this.cellSize = size;
+		this.minX = lx;
+		this.minY = ly;
+		this.minZ = lz;
+		this.nx = (int) ((hx - lx) / size) + 1;
+		this.ny = (int) ((hy - ly) / size) + 1;
+		this.nz = (int) ((hz - lz) / size) + 1;
+
+		// Counting sort of atoms by cell
+		int[] cellOf = new int[n];
+		int[] start = new int[nx * ny * nz + 1];
+		for (int i = 0; i < n; i++) {
+			int c = cell(cellIndex(x[i], minX), cellIndex(y[i], minY), cellIndex(z[i], minZ));
+			cellOf[i] = c;
+			start[c + 1]++;
+		}
+		for (int c = 0; c < nx * ny * nz; c++) {
+			start[c + 1] += start[c];
+		}
+		int[] next = start.clone();
+		this.xs = new float[n];
+		this.ys = new float[n];
+		this.zs = new float[n];
+		this.originalIndex = new int[n];
+		for (int i = 0; i < n; i++) {
+			int pos = next[cellOf[i]]++;
+			xs[pos] = x[i];
+			ys[pos] = y[i];
+			zs[pos] = z[i];
+			originalIndex[pos] = i;
+		}
+		this.cellStart = start;
+	}
+
+	/** Grid over the given coordinates (arrays of equal length; they are not modified or kept). */
+	public static AtomGrid of(float[] x, float[] y, float[] z, double cellSize) {
+		if (x.length != y.length || x.length != z.length) {
+			throw new IllegalArgumentException("Coordinate arrays must have the same length");
+		}
+		return new AtomGrid(x, y, z, cellSize);
+	}
+
+	public int size() {
+		return xs.length;
+	}
+
+	/** Number of atoms within {@code radius} (inclusive) of the point. */
+	public int countWithin(double px, double py, double pz, double radius) {
+		int[] count = {0};
+		forEachWithin(px, py, pz, radius, i -> count[0]++);
+		return count[0];
+	}
+
+	/** Calls {@code action} with the original index of every atom within {@code radius} (inclusive) of the point. */
+	public void forEachWithin(double px, double py, double pz, double radius, IntConsumer action) {
+		if (xs.length == 0) return;
+		double r2 = radius * radius;
+		int reach = (int) Math.ceil(radius / cellSize);
+		int cx = cellIndex(px, minX);
+		int cy = cellIndex(py, minY);
+		int cz = cellIndex(pz, minZ);
+		int x0 = Math.max(0, cx - reach), x1 = Math.min(nx - 1, cx + reach);
+		int y0 = Math.max(0, cy - reach), y1 = Math.min(ny - 1, cy + reach);
+		int z0 = Math.max(0, cz - reach), z1 = Math.min(nz - 1, cz + reach);
+		for (int ix = x0; ix <= x1; ix++) {
+			for (int iy = y0; iy <= y1; iy++) {
+				for (int iz = z0; iz <= z1; iz++) {
+					int c = cell(ix, iy, iz);
+					for (int p = cellStart[c], end = cellStart[c + 1]; p < end; p++) {
+						double dx = xs[p] - px;
+						double dy = ys[p] - py;
+						double dz = zs[p] - pz;
+						if (dx * dx + dy * dy + dz * dz <= r2) {
+							action.accept(originalIndex[p]);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/** Cell coordinate along one axis; may be outside [0, n) for query points outside the box. */
+	private int cellIndex(double v, double min) {
+		double idx = Math.floor((v - min) / cellSize);
+		return (int) Math.max(Integer.MIN_VALUE / 4, Math.min(Integer.MAX_VALUE / 4, idx));
+	}
+
+	private int cell(int ix, int iy, int iz) {
+		return (ix * ny + iy) * nz + iz;
+	}
+
+	private static long cellCount(double spanX, double spanY, double spanZ, double size) {
+		return ((long) (spanX / size) + 1) * ((long) (spanY / size) + 1) * ((long) (spanZ / size) + 1);
+	}
+}
@@ -0,0 +1,102 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed-radius neighbour graph over a set of points (e.g. residue CA atoms), built once with an
+ * {@link AtomGrid} and stored in compressed rows: node i's neighbours are
+ * {@code neighbors[offsets[i] .. offsets[i+1]-1]} with their squared distances alongside. Every node is its
+ * own neighbour (distance 0). Queries for any radius up to the build radius filter the precomputed rows, so
+ * several passes with different cutoffs (exposure counts, patch linking) share one spatial search.
+ * Neighbour order within a row is unspecified. Immutable.
+ */
+public final class NeighborGraph {
+
+	private final double radius;
+	private final int[] offsets;
+	private final int[] neighbors;
+	private final double[] distances2;
+
+	private NeighborGraph(double radius, int[] offsets, int[] neighbors, double[] distances2) {
+		this.radius = radius;
+		this.offsets = offsets;
+		this.neighbors = neighbors;
+		this.distances2 = distances2;
+	}
+
+	/** Graph linking points within {@code radius} (inclusive); node indices are array positions. */
+	public static NeighborGraph build(float[] x, float[] y, float[] z, double radius) {
+		AtomGrid grid = AtomGrid.of(x, y, z, radius);
+		int n = x.length;
+		int[] offsets = new int[n + 1];
+		IntBuffer ids = new IntBuffer(n * 16);
+		for (int i = 0; i < n; i++) {
+			grid.forEachWithin(x[i], y[i], z[i], radius, ids::add);
+			offsets[i + 1] = ids.size;
+		}
+		int[] neighbors = ids.toArray();
+		double[] distances2 = new double[neighbors.length];
+		for (int i = 0; i < n; i++) {
+			for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+				int j = neighbors[p];
+				double dx = (double) x[j] - x[i];
+				double dy = (double) y[j] - y[i];
+				double dz = (double) z[j] - z[i];
+				distances2[p] = dx * dx + dy * dy + dz * dz;
+			}
+		}
+		return new NeighborGraph(radius, offsets, neighbors, distances2);
+	}
+
+	public int nodeCount() {
+		return offsets.length - 1;
+	}
+
+	/** Number of nodes within {@code r} of node i, including i itself; r must not exceed the build radius. */
+	public int countWithin(int i, double r) {
+		checkRadius(r);
+		double r2 = r * r;
+		int count = 0;
+		for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+			if (distances2[p] <= r2) count++;
+		}
+		return count;
+	}
+
+	/** Calls {@code action} for every node within {@code r} of node i (including i); r must not exceed the build radius. */
+	public void forEachWithin(int i, double r, IntConsumer action) {
+		checkRadius(r);
+		double r2 = r * r;
+		for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+			if (distances2[p] <= r2) action.accept(neighbors[p]);
+		}
+	}
+
+	private void checkRadius(double r) {
+		if (r > radius) {
+			throw new IllegalArgumentException("Radius " + r + " exceeds graph radius " + radius);
+		}
+	}
+
+	/** Growable primitive int list. */
+	private static final class IntBuffer {
+		private int[] values;
+		private int size;
+
+		IntBuffer(int capacity) {
+			this.values = new int[Math.max(16, capacity)];
+		}
+
+		void add(int v) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[size++] = v;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
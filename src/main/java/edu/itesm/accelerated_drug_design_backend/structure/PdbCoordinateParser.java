@@ -0,0 +1,185 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-column reader for the ATOM/HETATM records of a PDB file into a {@link StructureModel}, without
+ * building a BioJava object graph. Works on the text as stored (no byte copy or stream): lines are scanned
+ * in place, coordinates and numbers are decoded from their columns directly, and strings are only created
+ * for new chains and residues. Reads the first model only and groups and filters atoms as BioJava does: a
+ * residue starts at each change of chain, number or insertion code (a microheterogeneous residue keeps the
+ * first conformer's name), and an atom is kept if it has no alternate location, shares the one of the
+ * residue's first atom, or has a name not yet in the residue.
+ * <p>
+ * Anything this parser does not handle — blank chain ids, hybrid-36 residue numbers, truncated or
+ * non-numeric fields, no atoms at all — raises {@link IllegalArgumentException}, so callers can fall back
+ * to a full parser for exotic files. Stateless and thread-safe.
+ */
+public final class PdbCoordinateParser {
+
+	private static final double[] POW10 = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12};
+
+	private PdbCoordinateParser() {
+	}
+
+	/** Parses the first model of the PDB text; IllegalArgumentException if it is not plain fixed-column PDB. */
+	public static StructureModel parse(String pdb) {
+		StructureModel.Builder builder = new StructureModel.Builder();
+		int length = pdb.length();
+		int lineNo = 0;
+		int residueLine = -1;
+		char residueAltLoc = ' ';
+		int[] residueAtoms = new int[32];
+		int residueAtomCount = 0;
+		boolean atomsSeen = false;
+
+		for (int pos = 0; pos < length; ) {
+			int nl = pdb.indexOf('\n', pos);
+			int end = nl < 0 ? length : nl;
+			int next = end + 1;
+			if (end > pos && pdb.charAt(end - 1) == '\r') end--;
+			lineNo++;
+
+			boolean atom = pdb.startsWith("ATOM  ", pos);
+			if (atom || pdb.startsWith("HETATM", pos)) {
+				if (end - pos < 54) {
+					throw new IllegalArgumentException("Truncated coordinate record at line " + lineNo);
+				}
+				char altLoc = pdb.charAt(pos + 16);
+				boolean sameResidue = residueLine >= 0 && pdb.regionMatches(pos + 21, pdb, residueLine + 21, 6);
+				if (!sameResidue) {
+					char chain = pdb.charAt(pos + 21);
+					if (chain == ' ') {
+						throw new IllegalArgumentException("Blank chain id at line " + lineNo);
+					}
+					builder.startResidue(String.valueOf(chain), pdb.substring(pos + 17, pos + 20).trim(),
+							parseInt(pdb, pos + 22, pos + 26, lineNo), atom);
+					residueLine = pos;
+					residueAltLoc = altLoc;
+					residueAtomCount = 0;
+				} else if (altLoc != ' ' && altLoc != residueAltLoc
+						&& hasAtomNamed(pdb, residueAtoms, residueAtomCount, pos)) {
+					pos = next;
+					continue;
+				}
+				if (residueAtomCount == residueAtoms.length) {
+					residueAtoms = Arrays.copyOf(residueAtoms, residueAtomCount * 2);
+				}
+				residueAtoms[residueAtomCount++] = pos;
+				builder.addAtom(backboneRole(pdb, pos + 12, pos + 16),
+						parseCoordinate(pdb, pos + 30, pos + 38, lineNo),
+						parseCoordinate(pdb, pos + 38, pos + 46, lineNo),
+						parseCoordinate(pdb, pos + 46, pos + 54, lineNo),
+						isHeavy(pdb, pos, end));
+				atomsSeen = true;
+			} else if (atomsSeen && (pdb.startsWith("ENDMDL", pos) || pdb.startsWith("MODEL ", pos)
+					|| (pdb.startsWith("END", pos) && (end - pos == 3 || pdb.charAt(pos + 3) == ' ')))) {
+				break;
+			}
+			pos = next;
+		}
+
+		if (builder.isEmpty()) {
+			throw new IllegalArgumentException("No ATOM/HETATM records");
+		}
+		return builder.build();
+	}
+
+	/** Whether one of the kept atoms (line offsets) has the atom name of the line at {@code line}. */
+	private static boolean hasAtomNamed(String s, int[] atoms, int count, int line) {
+		for (int i = 0; i < count; i++) {
+			if (sameAtomName(s, atoms[i] + 12, line + 12)) return true;
+		}
+		return false;
+	}
+
+	/** Atom names in columns 13-16 of two lines, compared trimmed. */
+	private static boolean sameAtomName(String s, int a, int b) {
+		int aFrom = a;
+		int aTo = a + 4;
+		int bFrom = b;
+		int bTo = b + 4;
+		while (aFrom < aTo && s.charAt(aFrom) == ' ') aFrom++;
+		while (aTo > aFrom && s.charAt(aTo - 1) == ' ') aTo--;
+		while (bFrom < bTo && s.charAt(bFrom) == ' ') bFrom++;
+		while (bTo > bFrom && s.charAt(bTo - 1) == ' ') bTo--;
+		return aTo - aFrom == bTo - bFrom && s.regionMatches(aFrom, s, bFrom, aTo - aFrom);
+	}
+
+	/** Backbone role of the atom name in columns 13-16, compared without allocating. */
+	private static int backboneRole(String s, int from, int to) {
+		while (from < to && s.charAt(from) == ' ') from++;
+		while (to > from && s.charAt(to - 1) == ' ') to--;
+		int n = to - from;
+		if (n == 1 && s.charAt(from) == 'N') return StructureModel.BACKBONE_N;
+		if (n == 1 && s.charAt(from) == 'C') return StructureModel.BACKBONE_C;
+		if (n == 2 && s.charAt(from) == 'C' && s.charAt(from + 1) == 'A') return StructureModel.BACKBONE_CA;
+		return 0;
+	}
+
+	/**
+	 * Hydrogen test from the element symbol (columns 77-78) or, when absent, from the atom name with any
+	 * leading digits skipped (e.g. {@code 1HB}).
+	 */
+	private static boolean isHeavy(String s, int lineStart, int lineEnd) {
+		int from = lineStart + 76;
+		int to = Math.min(lineEnd, lineStart + 78);
+		while (from < to && s.charAt(from) == ' ') from++;
+		while (to > from && s.charAt(to - 1) == ' ') to--;
+		if (to > from) {
+			return !(to - from == 1 && Character.toUpperCase(s.charAt(from)) == 'H');
+		}
+		int p = lineStart + 12;
+		int nameEnd = lineStart + 16;
+		while (p < nameEnd && (s.charAt(p) == ' ' || Character.isDigit(s.charAt(p)))) p++;
+		return p >= nameEnd || s.charAt(p) != 'H';
+	}
+
+	/** Signed integer in a fixed-width, space-padded field. */
+	private static int parseInt(String s, int from, int to, int lineNo) {
+		while (from < to && s.charAt(from) == ' ') from++;
+		while (to > from && s.charAt(to - 1) == ' ') to--;
+		boolean negative = from < to && s.charAt(from) == '-';
+		if (negative) from++;
+		if (from >= to) {
+			throw new IllegalArgumentException("Missing residue number at line " + lineNo);
+		}
+		int value = 0;
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Invalid residue number at line " + lineNo);
+			}
+			value = value * 10 + (c - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	/** Decimal coordinate in a fixed-width, space-padded field (e.g. {@code " -12.345"}). */
+	private static float parseCoordinate(String s, int from, int to, int lineNo) {
+		while (from < to && s.charAt(from) == ' ') from++;
+		while (to > from && s.charAt(to - 1) == ' ') to--;
+		boolean negative = from < to && s.charAt(from) == '-';
+		if (negative || (from < to && s.charAt(from) == '+')) from++;
+		long mantissa = 0;
+		int scale = -1;
+		int digits = 0;
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c == '.' && scale < 0) {
+				scale = 0;
+			} else if (c >= '0' && c <= '9' && digits < 18) {
+				mantissa = mantissa * 10 + (c - '0');
+				digits++;
+				if (scale >= 0) scale++;
+			} else {
+				throw new IllegalArgumentException("Invalid coordinate at line " + lineNo);
+			}
+		}
+		if (digits == 0 || scale >= POW10.length) {
+			throw new IllegalArgumentException("Invalid coordinate at line " + lineNo);
+		}
+		double value = scale > 0 ? mantissa / POW10[scale] : mantissa;
+		return (float) (negative ? -value : value);
+	}
+}
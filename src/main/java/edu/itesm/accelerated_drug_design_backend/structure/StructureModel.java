@@ -0,0 +1,314 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import org.biojava.nbio.structure.AminoAcid;
+import org.biojava.nbio.structure.Atom;
+import org.biojava.nbio.structure.Chain;
+import org.biojava.nbio.structure.Element;
+import org.biojava.nbio.structure.Group;
+import org.biojava.nbio.structure.ResidueNumber;
+import org.biojava.nbio.structure.Structure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact structure-of-arrays view of one model of a PDB: chains, residues and atom coordinates, with just
+ * what hotspot suggestion needs (chain ids, residue names and numbers, heavy-atom and CA coordinates).
+ * Residues are contiguous per chain ({@code chainResidueStart}) and atoms contiguous per residue
+ * ({@code residueAtomStart}); chains keep their order of first appearance, residues and atoms their file
+ * order. Built by {@link PdbCoordinateParser} or, as a fallback, from a BioJava {@link Structure}.
+ * Immutable once built; arrays returned by accessors are not exposed.
+ */
+public final class StructureModel {
+
+	private final String[] chainIds;
+	private final int[] chainResidueStart;
+
+	private final String[] residueNames;
+	private final int[] residueNumbers;
+	/** Residue is part of the polymer (ATOM record, amino acid or N/CA/C backbone), not a ligand or water. */
+	private final boolean[] polymer;
+	private final int[] residueAtomStart;
+	/** Atom index of the residue's CA, or -1. */
+	private final int[] caAtom;
+
+	private final float[] x;
+	private final float[] y;
+	private final float[] z;
+	private final boolean[] heavy;
+
+	private StructureModel(String[] chainIds, int[] chainResidueStart, String[] residueNames, int[] residueNumbers,
+			boolean[] polymer, int[] residueAtomStart, int[] caAtom, float[] x, float[] y, float[] z, boolean[] heavy) {
+		this.chainIds = chainIds;
+		this.chainResidueStart = chainResidueStart;
+		this.residueNames = residueNames;
+		this.residueNumbers = residueNumbers;
+		this.polymer = polymer;
+		this.residueAtomStart = residueAtomStart;
+		this.caAtom = caAtom;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.heavy = heavy;
+	}
+
+	// --- Chains ---
+
+	public int chainCount() {
+		return chainIds.length;
+	}
+
+	public String chainId(int chain) {
+		return chainIds[chain];
+	}
+
+	/** Index of the chain with this id; IllegalArgumentException if absent. */
+	public int chainIndex(String id) {
+		for (int c = 0; c < chainIds.length; c++) {
+			if (chainIds[c].equals(id)) return c;
+		}
+		throw new IllegalArgumentException("Chain not found: " + id);
+	}
+
+	public int firstResidue(int chain) {
+		return chainResidueStart[chain];
+	}
+
+	/** Exclusive end of the chain's residue range. */
+	public int endResidue(int chain) {
+		return chainResidueStart[chain + 1];
+	}
+
+	// --- Residues ---
+
+	public int residueCount() {
+		return residueNames.length;
+	}
+
+	public String residueName(int residue) {
+		return residueNames[residue];
+	}
+
+	public int residueNumber(int residue) {
+		return residueNumbers[residue];
+	}
+
+	public boolean isPolymer(int residue) {
+		return polymer[residue];
+	}
+
+	public int firstAtom(int residue) {
+		return residueAtomStart[residue];
+	}
+
+	/** Exclusive end of the residue's atom range. */
+	public int endAtom(int residue) {
+		return residueAtomStart[residue + 1];
+	}
+
+	/** Atom index of the residue's CA, or -1 if it has none. */
+	public int caAtom(int residue) {
+		return caAtom[residue];
+	}
+
+	// --- Atoms ---
+
+	public int atomCount() {
+		return x.length;
+	}
+
+	public float x(int atom) {
+		return x[atom];
+	}
+
+	public float y(int atom) {
+		return y[atom];
+	}
+
+	public float z(int atom) {
+		return z[atom];
+	}
+
+	public boolean isHeavy(int atom) {
+		return heavy[atom];
+	}
+
+	/** Squared distance between two atoms. */
+	public double distance2(int a, int b) {
+		double dx = (double) x[a] - x[b];
+		double dy = (double) y[a] - y[b];
+		double dz = (double) z[a] - z[b];
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	/**
+	 * Model of the first model of a BioJava structure: chain ids are the author ids ({@code getName()}, the
+	 * PDB column 22 letter, as {@link PdbCoordinateParser} reads it; else {@code getId()}), amino acid
+	 * groups are polymer residues.
+	 */
+	public static StructureModel of(Structure structure) {
+		Builder b = new Builder();
+		for (Chain chain : structure.getChains()) {
+			String id = chain.getName();
+			if (id == null || id.isBlank()) id = chain.getId() != null ? chain.getId() : "?";
+			for (Group g : chain.getAtomGroups()) {
+				ResidueNumber rn = g.getResidueNumber();
+				b.startResidue(id.trim(), g.getPDBName(), rn != null && rn.getSeqNum() != null ? rn.getSeqNum() : -1,
+						g instanceof AminoAcid);
+				for (Atom a : g.getAtoms()) {
+					Element e = a.getElement();
+					String name = a.getName();
+					boolean isHeavy = e != null ? e != Element.H : name == null || !name.startsWith("H");
+					b.addAtom(backboneRole(name), (float) a.getX(), (float) a.getY(), (float) a.getZ(), isHeavy);
+				}
+			}
+		}
+		return b.build();
+	}
+
+	static final int BACKBONE_N = 1;
+	static final int BACKBONE_CA = 2;
+	static final int BACKBONE_C = 4;
+	private static final int BACKBONE_ALL = BACKBONE_N | BACKBONE_CA | BACKBONE_C;
+
+	/** Backbone role of an atom name: {@link #BACKBONE_N}, {@link #BACKBONE_CA}, {@link #BACKBONE_C} or 0. */
+	static int backboneRole(String name) {
+		if (name == null) return 0;
+		return switch (name) {
+			case "N" -> BACKBONE_N;
+			case "CA" -> BACKBONE_CA;
+			case "C" -> BACKBONE_C;
+			default -> 0;
+		};
+	}
+
+	/**
+	 * Accumulates residues and atoms in file order and groups them by chain on {@link #build()}.
+	 * Callers start a new residue at every change of chain, number or insertion code. A residue not
+	 * flagged as polymer becomes one if it has N, CA and C atoms (modified residues in HETATM records).
+	 */
+	static final class Builder {
+
+		private final Map<String, ChainBuffer> chains = new LinkedHashMap<>();
+		private ChainBuffer current;
+
+		void startResidue(String chainId, String name, int number, boolean isPolymer) {
+			current = chains.computeIfAbsent(chainId, id -> new ChainBuffer());
+			current.startResidue(name, number, isPolymer);
+		}
+
+		/** Adds an atom to the current residue; {@code backbone} is its {@link #backboneRole(String)}. */
+		void addAtom(int backbone, float ax, float ay, float az, boolean isHeavy) {
+			if (current == null) {
+				throw new IllegalStateException("addAtom before startResidue");
+			}
+			current.addAtom(backbone, ax, ay, az, isHeavy);
+		}
+
+		boolean isEmpty() {
+			return chains.isEmpty();
+		}
+
+		StructureModel build() {
+			int nChains = chains.size();
+			int nResidues = 0;
+			int nAtoms = 0;
+			for (ChainBuffer cb : chains.values()) {
+				nResidues += cb.names.size();
+				nAtoms += cb.atomCount;
+			}
+			String[] chainIds = new String[nChains];
+			int[] chainStart = new int[nChains + 1];
+			String[] names = new String[nResidues];
+			int[] numbers = new int[nResidues];
+			boolean[] polymer = new boolean[nResidues];
+			int[] atomStart = new int[nResidues + 1];
+			int[] ca = new int[nResidues];
+			float[] ax = new float[nAtoms];
+			float[] ay = new float[nAtoms];
+			float[] az = new float[nAtoms];
+			boolean[] heavy = new boolean[nAtoms];
+
+			int c = 0;
+			int r = 0;
+			int a = 0;
+			for (Map.Entry<String, ChainBuffer> e : chains.entrySet()) {
+				ChainBuffer cb = e.getValue();
+				chainIds[c] = e.getKey();
+				chainStart[c] = r;
+				for (int i = 0; i < cb.names.size(); i++, r++) {
+					names[r] = cb.names.get(i);
+					numbers[r] = cb.numbers[i];
+					polymer[r] = cb.polymer[i] || cb.backbone[i] == BACKBONE_ALL;
+					atomStart[r] = a + cb.atomStart[i];
+					ca[r] = cb.ca[i] >= 0 ? a + cb.ca[i] : -1;
+				}
+				System.arraycopy(cb.x, 0, ax, a, cb.atomCount);
+				System.arraycopy(cb.y, 0, ay, a, cb.atomCount);
+				System.arraycopy(cb.z, 0, az, a, cb.atomCount);
+				System.arraycopy(cb.heavy, 0, heavy, a, cb.atomCount);
+				a += cb.atomCount;
+				c++;
+			}
+			chainStart[nChains] = r;
+			atomStart[nResidues] = a;
+			return new StructureModel(chainIds, chainStart, names, numbers, polymer, atomStart, ca, ax, ay, az, heavy);
+		}
+	}
+
+	/** Growable per-chain buffers (atom offsets relative to the chain). */
+	private static final class ChainBuffer {
+		final List<String> names = new ArrayList<>();
+		int[] numbers = new int[64];
+		boolean[] polymer = new boolean[64];
+		int[] atomStart = new int[64];
+		int[] ca = new int[64];
+		int[] backbone = new int[64];
+		float[] x = new float[512];
+		float[] y = new float[512];
+		float[] z = new float[512];
+		boolean[] heavy = new boolean[512];
+		int atomCount;
+
+		void startResidue(String name, int number, boolean isPolymer) {
+			int i = names.size();
+			if (i == numbers.length) {
+				int n = i * 2;
+				numbers = Arrays.copyOf(numbers, n);
+				polymer = Arrays.copyOf(polymer, n);
+				atomStart = Arrays.copyOf(atomStart, n);
+				ca = Arrays.copyOf(ca, n);
+				backbone = Arrays.copyOf(backbone, n);
+			}
+			names.add(name);
+			numbers[i] = number;
+			polymer[i] = isPolymer;
+			atomStart[i] = atomCount;
+			ca[i] = -1;
+			backbone[i] = 0;
+		}
+
+		void addAtom(int role, float ax, float ay, float az, boolean isHeavy) {
+			if (atomCount == x.length) {
+				int n = atomCount * 2;
+				x = Arrays.copyOf(x, n);
+				y = Arrays.copyOf(y, n);
+				z = Arrays.copyOf(z, n);
+				heavy = Arrays.copyOf(heavy, n);
+			}
+			int residue = names.size() - 1;
+			if (role == BACKBONE_CA && ca[residue] < 0) {
+				ca[residue] = atomCount;
+			}
+			backbone[residue] |= role;
+			x[atomCount] = ax;
+			y[atomCount] = ay;
+			z[atomCount] = az;
+			heavy[atomCount] = isHeavy;
+			atomCount++;
+		}
+	}
+}
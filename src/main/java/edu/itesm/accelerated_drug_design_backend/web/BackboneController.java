@@ -1,6 +1,7 @@
 package edu.itesm.accelerated_drug_design_backend.web;
 
 import edu.itesm.accelerated_drug_design_backend.dto.BackboneListDto;
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.CreateBackbonesRequest;
 import edu.itesm.accelerated_drug_design_backend.entity.Backbone;
 import edu.itesm.accelerated_drug_design_backend.service.BackboneService;
@@ -9,12 +10,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/backbones")
@@ -33,11 +36,23 @@ public class BackboneController {
 	}
 
 	@GetMapping(value = "/{backboneId}/structure", produces = MediaType.TEXT_PLAIN_VALUE)
+	@Operation(summary = "Backbone structure", description = "Backbone PDB. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable once the backbone is COMPLETED.")
 	public ResponseEntity<String> getBackboneStructure(
 			@PathVariable Long projectId,
-			@PathVariable Long backboneId) {
+			@PathVariable Long backboneId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		Optional<ContentVersionDto> version = backboneService.getStructureVersion(projectId, backboneId);
+		if (version.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		boolean immutable = ContentCaching.isImmutable(version.get());
+		if (ContentCaching.notModified(ifNoneMatch, version.get().sha256())) {
+			return ContentCaching.notModifiedResponse(version.get().sha256(), false, immutable, false);
+		}
+		HttpHeaders headers = new HttpHeaders();
+		ContentCaching.apply(headers, version.get().sha256(), false, immutable);
 		return backboneService.getStructure(projectId, backboneId)
-				.map(body -> ResponseEntity.ok().body(body != null ? body : ""))
+				.map(body -> ResponseEntity.ok().headers(headers).body(body != null ? body : ""))
 				.orElse(ResponseEntity.notFound().build());
 	}
 
@@ -45,7 +60,9 @@ public class BackboneController {
 	public ResponseEntity<List<Backbone>> checkRunStatus(
 			@PathVariable Long projectId,
 			@PathVariable String runId) {
-		List<Backbone> updated = backboneService.checkRunStatus(projectId, runId);
+		List<Backbone> updated = backboneService.isRunPollerEnabled()
+				? backboneService.getRunStatus(projectId, runId)
+				: backboneService.checkRunStatus(projectId, runId);
 		return ResponseEntity.ok(updated);
 	}
 
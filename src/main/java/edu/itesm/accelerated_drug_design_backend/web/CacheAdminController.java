@@ -0,0 +1,31 @@
+package edu.itesm.accelerated_drug_design_backend.web;
+
+import edu.itesm.accelerated_drug_design_backend.cache.PdbCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/pdb-cache")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "PDB cache", description = "PDB cache counters (admin only)")
+public class CacheAdminController {
+
+	private final PdbCacheService pdbCacheService;
+
+	public CacheAdminController(PdbCacheService pdbCacheService) {
+		this.pdbCacheService = pdbCacheService;
+	}
+
+	@GetMapping("/stats")
+	@Operation(summary = "PDB cache stats", description = "Per category: hits, misses (DB loads), coalesced waits on an in-flight load, load failures, total load time, evictions, entries and approximate bytes used vs budget.")
+	public ResponseEntity<Map<String, PdbCacheService.CategoryStats>> getStats() {
+		return ResponseEntity.ok(pdbCacheService.stats());
+	}
+}
@@ -0,0 +1,81 @@
+package edu.itesm.accelerated_drug_design_backend.web;
+
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Conditional GET for stored text content (PDB, FASTA). The strong ETag is the SHA-256 saved with the
+ * content, so If-None-Match is answered with 304 from a hash-only query, before the LONGTEXT is read.
+ * Gzip-encoded responses carry a {@code -gzip} suffix (a different representation); a tag of either
+ * encoding matches. Content of a COMPLETED run no longer changes and is sent as immutable; streamed
+ * content without a stored hash (records CSV) uses Last-Modified / If-Modified-Since instead.
+ */
+final class ContentCaching {
+
+	static final String IMMUTABLE = "private, max-age=31536000, immutable";
+	static final String REVALIDATE = "no-cache";
+
+	private static final String STATUS_COMPLETED = "COMPLETED";
+
+	private ContentCaching() {
+	}
+
+	static String etag(String sha256, boolean gzip) {
+		return "\"" + sha256 + (gzip ? "-gzip" : "") + "\"";
+	}
+
+	static boolean isImmutable(ContentVersionDto version) {
+		return STATUS_COMPLETED.equals(version.status());
+	}
+
+	/** True if If-None-Match lists {@code *} or this hash in either encoding (weak comparison). */
+	static boolean notModified(String ifNoneMatch, String sha256) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank() || sha256 == null) return false;
+		String plain = etag(sha256, false);
+		String gzip = etag(sha256, true);
+		for (String part : ifNoneMatch.split(",")) {
+			String tag = part.trim();
+			if (tag.equals("*")) return true;
+			if (tag.startsWith("W/")) tag = tag.substring(2);
+			if (tag.equals(plain) || tag.equals(gzip)) return true;
+		}
+		return false;
+	}
+
+	/** True if If-Modified-Since is at or after lastModified (HTTP dates have second precision). */
+	static boolean notModifiedSince(String ifModifiedSince, Instant lastModified) {
+		if (ifModifiedSince == null || ifModifiedSince.isBlank() || lastModified == null) return false;
+		try {
+			Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+			return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+
+	/** Sets ETag (when the hash is known) and Cache-Control. */
+	static void apply(HttpHeaders headers, String sha256, boolean gzip, boolean immutable) {
+		if (sha256 != null) {
+			headers.setETag(etag(sha256, gzip));
+		}
+		headers.setCacheControl(immutable ? IMMUTABLE : REVALIDATE);
+	}
+
+	/** 304 with the validators the full response would carry; Vary: Accept-Encoding when the endpoint negotiates gzip. */
+	static <T> ResponseEntity<T> notModifiedResponse(String sha256, boolean gzip, boolean immutable, boolean varyEncoding) {
+		HttpHeaders headers = new HttpHeaders();
+		apply(headers, sha256, gzip, immutable);
+		if (varyEncoding) {
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		}
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+	}
+}
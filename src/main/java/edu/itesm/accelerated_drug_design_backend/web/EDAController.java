@@ -1,9 +1,11 @@
 package edu.itesm.accelerated_drug_design_backend.web;
 
+import edu.itesm.accelerated_drug_design_backend.dto.BinsBatchRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.BinsRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.BinsResponse;
 import edu.itesm.accelerated_drug_design_backend.dto.DescriptiveStatsDto;
 import edu.itesm.accelerated_drug_design_backend.dto.DistributionResponse;
+import edu.itesm.accelerated_drug_design_backend.dto.HistogramResponse;
 import edu.itesm.accelerated_drug_design_backend.service.EDAService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +16,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -58,8 +61,21 @@ public class EDAController {
 		return ResponseEntity.ok(edaService.getDescriptiveStats(projectId, jobId));
 	}
 
+	@PostMapping("/descriptive-stats/recompute")
+	@Operation(summary = "Recompute descriptive statistics", description = "Recomputes the stored per-metric statistics of the job from its records and returns them.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<Map<String, DescriptiveStatsDto>> recomputeDescriptiveStats(
+			@Parameter(description = "Project ID") @PathVariable Long projectId,
+			@Parameter(description = "Generation job ID") @PathVariable Long jobId) {
+		return ResponseEntity.ok(edaService.refreshStoredStats(projectId, jobId));
+	}
+
 	@GetMapping("/distribution")
-	@Operation(summary = "Distribution data", description = "Returns values, min and max for the given metric to build a histogram.")
+	@Operation(summary = "Distribution data", description = "Returns every value, min and max for the given metric (raw values; prefer /histogram for large jobs).")
 	@ApiResponses({
 			@ApiResponse(responseCode = "200", description = "Success"),
 			@ApiResponse(responseCode = "400", description = "Invalid metric"),
@@ -74,6 +90,23 @@ public class EDAController {
 		return ResponseEntity.ok(response);
 	}
 
+	@GetMapping("/histogram")
+	@Operation(summary = "Histogram", description = "Returns histogram edges, counts, min and max for the given metric, computed server-side. Use either bins (equal-width bins between min and max, default 20) or explicit edges.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Invalid metric, bins or edges"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<HistogramResponse> getHistogram(
+			@Parameter(description = "Project ID") @PathVariable Long projectId,
+			@Parameter(description = "Generation job ID") @PathVariable Long jobId,
+			@Parameter(description = "Metric: mpnn, plddt, ptm, i_ptm, pae, i_pae, rmsd") @RequestParam String metric,
+			@Parameter(description = "Number of equal-width bins (1–1000)") @RequestParam(required = false) Integer bins,
+			@Parameter(description = "Comma-separated, strictly increasing bin edges, e.g. 0,50,70,90,100") @RequestParam(required = false) List<Double> edges) {
+		return ResponseEntity.ok(edaService.getHistogram(projectId, jobId, metric, bins, edges));
+	}
+
 	@PostMapping("/bins")
 	@Operation(summary = "Bins analysis", description = "Returns counts and percentages per category for the given metric and custom bins/labels.")
 	@ApiResponses({
@@ -90,4 +123,19 @@ public class EDAController {
 		BinsResponse response = edaService.getBins(projectId, jobId, metric, request);
 		return ResponseEntity.ok(response);
 	}
+
+	@PostMapping("/bins/batch")
+	@Operation(summary = "Bins analysis (several metrics)", description = "Returns counts and percentages per category for several metrics at once, each with its own bins/labels. Bins must be strictly increasing.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Invalid metric or bins/labels"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<Map<String, BinsResponse>> getBinsBatch(
+			@Parameter(description = "Project ID") @PathVariable Long projectId,
+			@Parameter(description = "Generation job ID") @PathVariable Long jobId,
+			@Valid @RequestBody BinsBatchRequest request) {
+		return ResponseEntity.ok(edaService.getBinsBatch(projectId, jobId, request.metrics()));
+	}
 }
@@ -1,9 +1,11 @@
 package edu.itesm.accelerated_drug_design_backend.web;
 
+import edu.itesm.accelerated_drug_design_backend.dto.BinsBatchRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.BinsRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.BinsResponse;
 import edu.itesm.accelerated_drug_design_backend.dto.DescriptiveStatsDto;
 import edu.itesm.accelerated_drug_design_backend.dto.DistributionResponse;
+import edu.itesm.accelerated_drug_design_backend.dto.HistogramResponse;
 import edu.itesm.accelerated_drug_design_backend.service.EDAService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,12 +43,13 @@ public class EDAMultiController {
 	})
 	public ResponseEntity<Map<String, DescriptiveStatsDto>> getDescriptiveStatsForJobs(
 			@Parameter(description = "Project ID") @PathVariable Long projectId,
-			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds) {
-		return ResponseEntity.ok(edaService.getDescriptiveStatsForJobs(projectId, jobIds));
+			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds,
+			@Parameter(description = "true = calcula sobre los registros; false = combina los resúmenes guardados (percentiles aproximados)") @RequestParam(defaultValue = "false") boolean exact) {
+		return ResponseEntity.ok(edaService.getDescriptiveStatsForJobs(projectId, jobIds, exact));
 	}
 
 	@GetMapping("/distribution")
-	@Operation(summary = "Distribution data (multi-job)", description = "Valores agregados, min y max para construir histogramas usando múltiples jobs.")
+	@Operation(summary = "Distribution data (multi-job)", description = "Valores agregados, min y max usando múltiples jobs (valores crudos; para datasets grandes usar /histogram).")
 	@ApiResponses({
 			@ApiResponse(responseCode = "200", description = "Success"),
 			@ApiResponse(responseCode = "400", description = "Invalid metric"),
@@ -61,6 +64,23 @@ public class EDAMultiController {
 		return ResponseEntity.ok(response);
 	}
 
+	@GetMapping("/histogram")
+	@Operation(summary = "Histogram (multi-job)", description = "Bordes, conteos, min y max del histograma calculados en el servidor usando múltiples jobs. Usa bins (ancho igual entre min y max, 20 por defecto) o edges explícitos.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Invalid metric, bins or edges"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<HistogramResponse> getHistogramForJobs(
+			@Parameter(description = "Project ID") @PathVariable Long projectId,
+			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds,
+			@Parameter(description = "Metric: mpnn, plddt, ptm, i_ptm, pae, i_pae, rmsd") @RequestParam String metric,
+			@Parameter(description = "Number of equal-width bins (1–1000)") @RequestParam(required = false) Integer bins,
+			@Parameter(description = "Comma-separated, strictly increasing bin edges, e.g. 0,50,70,90,100") @RequestParam(required = false) List<Double> edges) {
+		return ResponseEntity.ok(edaService.getHistogramForJobs(projectId, jobIds, metric, bins, edges));
+	}
+
 	@PostMapping("/bins")
 	@Operation(summary = "Bins analysis (multi-job)", description = "Análisis por bins/categorías usando múltiples jobs para una métrica.")
 	@ApiResponses({
@@ -78,6 +98,21 @@ public class EDAMultiController {
 		return ResponseEntity.ok(response);
 	}
 
+	@PostMapping("/bins/batch")
+	@Operation(summary = "Bins analysis (multi-job, several metrics)", description = "Análisis por bins de varias métricas a la vez usando múltiples jobs; cada métrica con sus propios bins/labels (bins estrictamente crecientes).")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Invalid metric or bins/labels"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<Map<String, BinsResponse>> getBinsBatchForJobs(
+			@Parameter(description = "Project ID") @PathVariable Long projectId,
+			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds,
+			@Valid @RequestBody BinsBatchRequest request) {
+		return ResponseEntity.ok(edaService.getBinsBatchForJobs(projectId, jobIds, request.metrics()));
+	}
+
 	@GetMapping("/dataset-quality")
 	@Operation(summary = "Dataset quality (multi-job)", description = "Índice de calidad global (0–1) para el dataset combinado de múltiples jobs.")
 	@ApiResponses({
@@ -87,9 +122,21 @@ public class EDAMultiController {
 	})
 	public ResponseEntity<Map<String, Double>> getDatasetQualityForJobs(
 			@Parameter(description = "Project ID") @PathVariable Long projectId,
-			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds) {
-		double quality = edaService.getDatasetQualityForJobs(projectId, jobIds);
+			@Parameter(description = "Comma-separated job IDs, e.g. 1,2,3") @RequestParam List<Long> jobIds,
+			@Parameter(description = "true = calcula sobre los registros; false = combina los resúmenes guardados (percentiles aproximados)") @RequestParam(defaultValue = "false") boolean exact) {
+		double quality = edaService.getDatasetQualityForJobs(projectId, jobIds, exact);
 		return ResponseEntity.ok(Map.of("quality", quality));
 	}
-}
 
+	@PostMapping("/descriptive-stats/recompute")
+	@Operation(summary = "Recompute stored statistics (project)", description = "Recalcula las estadísticas guardadas por métrica de todos los jobs COMPLETED del proyecto (backfill).")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<Map<String, Integer>> recomputeStoredStats(
+			@Parameter(description = "Project ID") @PathVariable Long projectId) {
+		int jobs = edaService.refreshStoredStatsForProject(projectId);
+		return ResponseEntity.ok(Map.of("jobs", jobs));
+	}
+}
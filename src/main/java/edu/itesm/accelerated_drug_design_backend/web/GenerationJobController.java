@@ -1,5 +1,7 @@
 package edu.itesm.accelerated_drug_design_backend.web;
 
+import edu.itesm.accelerated_drug_design_backend.cache.PdbEntry;
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
 import edu.itesm.accelerated_drug_design_backend.dto.CreateGenerationJobRequest;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobDetailDto;
 import edu.itesm.accelerated_drug_design_backend.dto.GenerationJobListItem;
@@ -16,9 +18,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/generation-jobs")
@@ -53,20 +59,45 @@ public class GenerationJobController {
 	}
 
 	@GetMapping(value = "/{jobId}/best-pdb", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<String> getBestPdb(
+	@Operation(summary = "Best PDB", description = "Best PDB of the job as text. Sent gzip-compressed (as cached) when the client sends Accept-Encoding: gzip. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable once the job is COMPLETED.")
+	public ResponseEntity<byte[]> getBestPdb(
 			@PathVariable Long projectId,
-			@PathVariable Long jobId) {
-		return generationJobService.getBestPdb(projectId, jobId)
-				.map(body -> ResponseEntity.ok().body(body != null ? body : ""))
+			@PathVariable Long jobId,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		Optional<ContentVersionDto> version = generationJobService.getBestPdbVersion(projectId, jobId);
+		if (version.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		// Same representation (and ETag) on 200 and 304: gzip only when the cache stores gzip
+		boolean gzip = acceptsGzip(acceptEncoding) && generationJobService.isPdbGzipEncoded();
+		if (ContentCaching.notModified(ifNoneMatch, version.get().sha256())) {
+			return ContentCaching.notModifiedResponse(version.get().sha256(), gzip,
+					ContentCaching.isImmutable(version.get()), true);
+		}
+		return generationJobService.getBestPdbEntry(projectId, jobId)
+				.map(entry -> pdbResponse(entry, gzip, version.get()))
 				.orElse(ResponseEntity.notFound().build());
 	}
 
 	@GetMapping(value = "/{jobId}/fasta", produces = MediaType.TEXT_PLAIN_VALUE)
+	@Operation(summary = "FASTA", description = "FASTA of the job. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable once the job is COMPLETED.")
 	public ResponseEntity<String> getFasta(
 			@PathVariable Long projectId,
-			@PathVariable Long jobId) {
+			@PathVariable Long jobId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		Optional<ContentVersionDto> version = generationJobService.getFastaVersion(projectId, jobId);
+		if (version.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		boolean immutable = ContentCaching.isImmutable(version.get());
+		if (ContentCaching.notModified(ifNoneMatch, version.get().sha256())) {
+			return ContentCaching.notModifiedResponse(version.get().sha256(), false, immutable, false);
+		}
+		HttpHeaders headers = new HttpHeaders();
+		ContentCaching.apply(headers, version.get().sha256(), false, immutable);
 		return generationJobService.getFasta(projectId, jobId)
-				.map(body -> ResponseEntity.ok().body(body != null ? body : ""))
+				.map(body -> ResponseEntity.ok().headers(headers).body(body != null ? body : ""))
 				.orElse(ResponseEntity.notFound().build());
 	}
 
@@ -81,31 +112,132 @@ public class GenerationJobController {
 	}
 
 	@GetMapping(value = "/{jobId}/records/{n}/pdb", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<String> getRecordPdb(
+	@Operation(summary = "Record PDB", description = "PDB of record n as text. Sent gzip-compressed (as cached) when the client sends Accept-Encoding: gzip. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable once the job is COMPLETED.")
+	public ResponseEntity<byte[]> getRecordPdb(
 			@PathVariable Long projectId,
 			@PathVariable Long jobId,
-			@PathVariable Integer n) {
-		return generationJobService.getRecordPdb(projectId, jobId, n)
-				.map(body -> ResponseEntity.ok().body(body != null ? body : ""))
+			@PathVariable Integer n,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		Optional<ContentVersionDto> version = generationJobService.getRecordPdbVersion(projectId, jobId, n);
+		if (version.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		// Same representation (and ETag) on 200 and 304: gzip only when the cache stores gzip
+		boolean gzip = acceptsGzip(acceptEncoding) && generationJobService.isPdbGzipEncoded();
+		if (ContentCaching.notModified(ifNoneMatch, version.get().sha256())) {
+			return ContentCaching.notModifiedResponse(version.get().sha256(), gzip,
+					ContentCaching.isImmutable(version.get()), true);
+		}
+		return generationJobService.getRecordPdbEntry(projectId, jobId, n, version.get().sha256())
+				.map(entry -> pdbResponse(entry, gzip, version.get()))
 				.orElse(ResponseEntity.notFound().build());
 	}
 
+	/**
+	 * Cached gzip bytes as-is when {@code gzip} (an entry stored plain, e.g. a disk-tier copy written under
+	 * another compression setting, is compressed here); decoded UTF-8 text otherwise. The ETag follows
+	 * {@code gzip} so it matches the 304 path. ETag/Cache-Control from the version.
+	 */
+	private static ResponseEntity<byte[]> pdbResponse(PdbEntry entry, boolean gzip, ContentVersionDto version) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+		headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		ContentCaching.apply(headers, version.sha256(), gzip, ContentCaching.isImmutable(version));
+		if (gzip) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			PdbEntry gzipEntry = entry.isGzip() ? entry : PdbEntry.of(entry.text(), PdbEntry.Compression.GZIP, 1);
+			return ResponseEntity.ok().headers(headers).body(gzipEntry.gzipBytes());
+		}
+		return ResponseEntity.ok().headers(headers).body(entry.text().getBytes(StandardCharsets.UTF_8));
+	}
+
 	@GetMapping(value = "/{jobId}/records/csv", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<String> getJobRecordsCsv(
+	@Operation(summary = "Records CSV", description = "Streams all records of the job as CSV (no PDB column). Gzip-compressed when the client sends Accept-Encoding: gzip. Once the job is COMPLETED: Last-Modified (304 on If-Modified-Since) and immutable.")
+	public ResponseEntity<StreamingResponseBody> getJobRecordsCsv(
 			@PathVariable Long projectId,
-			@PathVariable Long jobId) {
-		String csv = generationJobService.buildCsvFromRecords(projectId, jobId);
+			@PathVariable Long jobId,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			@RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+		boolean gzip = acceptsGzip(acceptEncoding);
+		Instant completedAt = generationJobService.getCompletedAt(projectId, jobId).orElse(null);
+		if (ContentCaching.notModifiedSince(ifModifiedSince, completedAt)) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setLastModified(completedAt);
+			headers.setCacheControl(ContentCaching.IMMUTABLE);
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+		}
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream gz = new GZIPOutputStream(out, 8192);
+				generationJobService.writeCsvFromRecords(projectId, jobId, gz);
+				gz.finish();
+			} else {
+				generationJobService.writeCsvFromRecords(projectId, jobId, out);
+			}
+		};
 		HttpHeaders headers = new HttpHeaders();
 		headers.setContentType(MediaType.parseMediaType("text/csv"));
 		headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"job-" + jobId + "-records.csv\"");
-		return ResponseEntity.ok().headers(headers).body(csv);
+		headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (completedAt != null) {
+			headers.setLastModified(completedAt);
+			headers.setCacheControl(ContentCaching.IMMUTABLE);
+		}
+		if (gzip) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return ResponseEntity.ok().headers(headers).body(body);
+	}
+
+	/** True if the Accept-Encoding header lists gzip (or *) without q=0. */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+		for (String part : acceptEncoding.split(",")) {
+			String[] tokens = part.split(";");
+			String coding = tokens[0].trim();
+			if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+			boolean rejected = false;
+			for (int i = 1; i < tokens.length; i++) {
+				String param = tokens[i].trim().replace(" ", "");
+				if (param.matches("q=0(\\.0{0,3})?")) rejected = true;
+			}
+			if (!rejected) return true;
+		}
+		return false;
+	}
+
+	@GetMapping(value = "/export", produces = "application/zip")
+	@Operation(summary = "Export jobs as ZIP", description = "Streams a ZIP with records CSV, FASTA and best PDB per job (job-<id>/...), optionally with every record PDB. Without jobIds, exports every job of the project.")
+	@ApiResponses({
+			@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "404", description = "Job not found"),
+			@ApiResponse(responseCode = "401", description = "Unauthorized"),
+			@ApiResponse(responseCode = "500", description = "Server error")
+	})
+	public ResponseEntity<StreamingResponseBody> exportJobs(
+			@PathVariable Long projectId,
+			@RequestParam(required = false) List<Long> jobIds,
+			@RequestParam(defaultValue = "false") boolean includeRecordPdbs) {
+		List<Long> ids = generationJobService.resolveExportJobIds(projectId, jobIds);
+		StreamingResponseBody body = out -> generationJobService.writeExportZip(projectId, ids, includeRecordPdbs, out);
+		String filename = ids.size() == 1
+				? "job-" + ids.get(0) + "-export.zip"
+				: "project-" + projectId + "-jobs-export.zip";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("application/zip"));
+		headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+		return ResponseEntity.ok().headers(headers).body(body);
 	}
 
 	@GetMapping("/status/{runId}")
 	public ResponseEntity<GenerationJob> checkRunStatus(
 			@PathVariable Long projectId,
 			@PathVariable String runId) {
-		GenerationJob updated = generationJobService.checkRunStatus(projectId, runId);
+		GenerationJob updated = generationJobService.isRunPollerEnabled()
+				? generationJobService.getRunStatus(projectId, runId)
+				: generationJobService.checkRunStatus(projectId, runId);
 		if (updated == null) {
 			return ResponseEntity.notFound().build();
 		}
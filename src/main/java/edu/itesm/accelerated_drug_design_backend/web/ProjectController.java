@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -53,17 +54,37 @@ public class ProjectController {
 	}
 
 	@GetMapping(value = "/{id}/target", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<String> getProjectTarget(@PathVariable Long id) {
+	@Operation(summary = "Project target", description = "Target PDB. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable (never changes after creation).")
+	public ResponseEntity<String> getProjectTarget(
+			@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String sha256 = projectService.getTargetSha256(id).orElse(null);
+		if (ContentCaching.notModified(ifNoneMatch, sha256)) {
+			return ContentCaching.notModifiedResponse(sha256, false, true, false);
+		}
 		String target = projectService.getTarget(id);
+		HttpHeaders headers = new HttpHeaders();
+		ContentCaching.apply(headers, sha256, false, true);
 		return ResponseEntity.ok()
+				.headers(headers)
 				.contentType(MediaType.TEXT_PLAIN)
 				.body(target != null ? target : "");
 	}
 
 	@GetMapping(value = "/{id}/complex", produces = MediaType.TEXT_PLAIN_VALUE)
-	public ResponseEntity<String> getProjectComplex(@PathVariable Long id) {
+	@Operation(summary = "Project complex", description = "Complex PDB. Strong ETag from the stored SHA-256 (304 on If-None-Match); immutable (never changes after creation).")
+	public ResponseEntity<String> getProjectComplex(
+			@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String sha256 = projectService.getComplexSha256(id).orElse(null);
+		if (ContentCaching.notModified(ifNoneMatch, sha256)) {
+			return ContentCaching.notModifiedResponse(sha256, false, true, false);
+		}
 		String complex = projectService.getComplex(id);
+		HttpHeaders headers = new HttpHeaders();
+		ContentCaching.apply(headers, sha256, false, true);
 		return ResponseEntity.ok()
+				.headers(headers)
 				.contentType(MediaType.TEXT_PLAIN)
 				.body(complex != null ? complex : "");
 	}
@@ -0,0 +1,177 @@
+package edu.itesm.accelerated_drug_design_backend.cache;
+
+import edu.itesm.accelerated_drug_design_backend.entity.ContentHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdbDiskStoreTest {
+
+	private static final long SEGMENT_BYTES = 1L << 20;
+	private static final long MAX_BYTES = 8L << 20;
+	/** magic, crc, key length, hash length, data length, text length, flags */
+	private static final int HEADER_BYTES = 7 * Integer.BYTES;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void replaysEntriesAfterReopen() throws IOException {
+		String a = pdb("A", 200);
+		String b = pdb("B", 300);
+		try (PdbDiskStore store = open()) {
+			assertTrue(store.put("1:1:1", entry(a, PdbEntry.Compression.GZIP)));
+			assertTrue(store.put("1:1:2", entry(b, PdbEntry.Compression.NONE)));
+		}
+		try (PdbDiskStore store = open()) {
+			assertEquals(2, store.entryCount());
+			assertEquals(a, store.get("1:1:1", ContentHash.sha256(a)).orElseThrow().text());
+			assertEquals(b, store.get("1:1:2", ContentHash.sha256(b)).orElseThrow().text());
+		}
+	}
+
+	@Test
+	void tornTailIsIgnoredAndOverwritten() throws IOException {
+		String a = pdb("A", 200);
+		String b = pdb("B", 300);
+		PdbEntry entryA = entry(a, PdbEntry.Compression.GZIP);
+		PdbEntry entryB = entry(b, PdbEntry.Compression.GZIP);
+		try (PdbDiskStore store = open()) {
+			assertTrue(store.put("1:1:1", entryA));
+			assertTrue(store.put("1:1:2", entryB));
+		}
+
+		// Simulate a write torn by a crash: the last record's header is there but its data is not
+		int offsetB = recordSize("1:1:1", entryA);
+		int dataEndB = offsetB + recordSize("1:1:2", entryB);
+		try (RandomAccessFile file = new RandomAccessFile(dir.resolve("segment-0.dat").toFile(), "rw")) {
+			file.seek(dataEndB - 16);
+			file.write(new byte[16]);
+		}
+
+		String c = pdb("C", 250);
+		try (PdbDiskStore store = open()) {
+			assertEquals(1, store.entryCount());
+			assertEquals(a, store.get("1:1:1", ContentHash.sha256(a)).orElseThrow().text());
+			assertFalse(store.get("1:1:2", ContentHash.sha256(b)).isPresent());
+			// Appending resumes at the torn record
+			assertTrue(store.put("1:1:3", entry(c, PdbEntry.Compression.GZIP)));
+		}
+		try (PdbDiskStore store = open()) {
+			assertEquals(2, store.entryCount());
+			assertEquals(a, store.get("1:1:1", ContentHash.sha256(a)).orElseThrow().text());
+			assertEquals(c, store.get("1:1:3", ContentHash.sha256(c)).orElseThrow().text());
+		}
+	}
+
+	@Test
+	void corruptRecordStopsReplay() throws IOException {
+		String a = pdb("A", 200);
+		String b = pdb("B", 300);
+		PdbEntry entryA = entry(a, PdbEntry.Compression.NONE);
+		try (PdbDiskStore store = open()) {
+			assertTrue(store.put("1:1:1", entryA));
+			assertTrue(store.put("1:1:2", entry(b, PdbEntry.Compression.NONE)));
+		}
+
+		// One flipped byte in the first record's data: CRC mismatch, nothing after it is trusted
+		try (RandomAccessFile file = new RandomAccessFile(dir.resolve("segment-0.dat").toFile(), "rw")) {
+			long pos = recordSize("1:1:1", entryA) - 1;
+			file.seek(pos);
+			int original = file.read();
+			file.seek(pos);
+			file.write(original ^ 0xFF);
+		}
+
+		try (PdbDiskStore store = open()) {
+			assertEquals(0, store.entryCount());
+		}
+	}
+
+	@Test
+	void removedEntriesStayRemovedAfterReplay() throws IOException {
+		String a = pdb("A", 200);
+		try (PdbDiskStore store = open()) {
+			assertTrue(store.put("1:1:1", entry(a, PdbEntry.Compression.GZIP)));
+			store.removeAll(List.of("1:1:1"));
+		}
+		try (PdbDiskStore store = open()) {
+			assertEquals(0, store.entryCount());
+		}
+	}
+
+	@Test
+	void entryWithAnotherHashIsNotServed() throws IOException {
+		String a = pdb("A", 200);
+		try (PdbDiskStore store = open()) {
+			assertTrue(store.put("1:1:1", entry(a, PdbEntry.Compression.GZIP)));
+			Optional<PdbEntry> stale = store.get("1:1:1", ContentHash.sha256(pdb("X", 200)));
+			assertFalse(stale.isPresent());
+			assertFalse(store.get("1:1:1", ContentHash.sha256(a)).isPresent());
+			assertFalse(store.put("1:1:2", PdbEntry.of(a, PdbEntry.Compression.GZIP, 1)));
+		}
+	}
+
+	@Test
+	void reopeningWithSmallerBudgetDropsOldestSegments() throws IOException {
+		// About 320 KB each uncompressed: three per 1 MiB segment, ten entries over four segments
+		List<String> texts = new ArrayList<>();
+		try (PdbDiskStore store = open()) {
+			for (int i = 0; i < 10; i++) {
+				String text = pdb(String.valueOf((char) ('A' + i)), 4000);
+				texts.add(text);
+				assertTrue(store.put("1:1:" + i, entry(text, PdbEntry.Compression.NONE)));
+			}
+		}
+
+		List<String> dropped = new ArrayList<>();
+		try (PdbDiskStore store = PdbDiskStore.open(dir, SEGMENT_BYTES, 2 * SEGMENT_BYTES, dropped::addAll)) {
+			assertFalse(dropped.isEmpty());
+			assertEquals(10, dropped.size() + store.entryCount());
+			// Oldest first: the dropped keys are a prefix of the insertion order
+			for (int i = 0; i < 10; i++) {
+				String key = "1:1:" + i;
+				boolean wasDropped = i < dropped.size();
+				assertEquals(wasDropped, dropped.contains(key), key);
+				assertEquals(!wasDropped, store.get(key, ContentHash.sha256(texts.get(i))).isPresent(), key);
+			}
+		}
+	}
+
+	private PdbDiskStore open() throws IOException {
+		return PdbDiskStore.open(dir, SEGMENT_BYTES, MAX_BYTES, keys -> {
+		});
+	}
+
+	private static PdbEntry entry(String text, PdbEntry.Compression compression) {
+		return PdbEntry.of(text, compression, 1).withSha256(ContentHash.sha256(text));
+	}
+
+	private static int recordSize(String key, PdbEntry entry) {
+		return HEADER_BYTES + key.getBytes(StandardCharsets.UTF_8).length
+				+ entry.sha256().getBytes(StandardCharsets.US_ASCII).length + entry.storedData().length;
+	}
+
+	/** Small PDB-like text whose content depends on the chain letter. */
+	private static String pdb(String chain, int atoms) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= atoms; i++) {
+			sb.append(String.format(Locale.ROOT,
+					"ATOM  %5d  CA  ALA %s%4d    %8.3f%8.3f%8.3f  1.00 20.00           C\n",
+					i, chain, i, i * 1.1, i * 0.7, i * -0.3));
+		}
+		return sb.append("END\n").toString();
+	}
+}
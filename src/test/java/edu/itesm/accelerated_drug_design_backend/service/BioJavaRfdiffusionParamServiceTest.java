@@ -0,0 +1,149 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import edu.itesm.accelerated_drug_design_backend.cache.PdbCacheService;
+import edu.itesm.accelerated_drug_design_backend.dto.GenerateResult;
+import edu.itesm.accelerated_drug_design_backend.dto.ProjectContentHashesDto;
+import edu.itesm.accelerated_drug_design_backend.repository.ProjectRepository;
+import org.biojava.nbio.structure.chem.ChemCompGroupFactory;
+import org.biojava.nbio.structure.chem.ReducedChemCompProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Suggestions on the fixtures of src/test/resources/structure. Expected values are those of the BioJava-only
+ * implementation that preceded {@code PdbCoordinateParser}, run on the same files.
+ */
+class BioJavaRfdiffusionParamServiceTest {
+
+	private static final Long PROJECT_ID = 7L;
+
+	private ProjectRepository projectRepository;
+	private PdbCacheService pdbCache;
+	private BioJavaRfdiffusionParamService service;
+
+	@BeforeAll
+	static void offlineChemComps() {
+		// The BioJava fallback would otherwise download chemical component definitions
+		ChemCompGroupFactory.setChemCompProvider(new ReducedChemCompProvider());
+	}
+
+	@BeforeEach
+	void createService() {
+		projectRepository = mock(ProjectRepository.class);
+		pdbCache = mock(PdbCacheService.class);
+		service = new BioJavaRfdiffusionParamService(projectRepository, pdbCache, 16, 2);
+	}
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void complexMatchesBioJavaBaseline() {
+		GenerateResult result = generate("", fixture("complex.pdb"));
+		assertEquals("12-30/0 A1-42", result.getContig());
+		assertEquals("A1,A6,A11,A16,A20,A23,A30", result.getHotspots());
+		assertEquals(List.of("C"), result.getChainsToRemove());
+	}
+
+	@Test
+	void targetOnlyMatchesBioJavaBaseline() {
+		GenerateResult result = generate(fixture("complex.pdb"), "");
+		assertEquals("12-30/0 A1-15", result.getContig());
+		assertEquals("A3", result.getHotspots());
+		assertEquals(List.of("C"), result.getChainsToRemove());
+	}
+
+	@Test
+	void hybrid36AtomSerialsGiveSameSuggestion() {
+		// The baseline could not read this file; the parser ignores serials
+		GenerateResult result = generate("", fixture("hybrid36-serials.pdb"));
+		assertEquals("12-30/0 A1-42", result.getContig());
+		assertEquals("A1,A6,A11,A16,A20,A23,A30", result.getHotspots());
+		assertEquals(List.of("C"), result.getChainsToRemove());
+	}
+
+	@Test
+	void hybrid36ResidueNumbersFail() {
+		// Rejected by the parser and by the BioJava fallback alike
+		RuntimeException e = assertThrowsExactly(RuntimeException.class,
+				() -> generate("", fixture("hybrid36-residues.pdb")));
+		assertInstanceOf(NumberFormatException.class, e.getCause());
+	}
+
+	@Test
+	void unchangedHashesReuseTheResult() {
+		when(projectRepository.findContentHashesById(PROJECT_ID))
+				.thenReturn(Optional.of(new ProjectContentHashesDto("t1", "c1")));
+		when(pdbCache.getOrLoadTarget(eq(PROJECT_ID), any())).thenReturn("");
+		when(pdbCache.getOrLoadComplex(eq(PROJECT_ID), any())).thenReturn(fixture("complex.pdb"));
+
+		GenerateResult first = service.generateForProject(PROJECT_ID);
+		GenerateResult second = service.generateForProject(PROJECT_ID);
+		assertSame(first, second);
+		verify(pdbCache, times(1)).getOrLoadComplex(eq(PROJECT_ID), any());
+	}
+
+	@Test
+	void changedHashRecomputes() {
+		// The complex is removed between the calls: its hash goes away and the suggestion falls back to the target
+		when(projectRepository.findContentHashesById(PROJECT_ID)).thenReturn(
+				Optional.of(new ProjectContentHashesDto("t1", "c1")),
+				Optional.of(new ProjectContentHashesDto("t1", "c1")),
+				Optional.of(new ProjectContentHashesDto("t1", null)));
+		when(pdbCache.getOrLoadTarget(eq(PROJECT_ID), any())).thenReturn(fixture("complex.pdb"));
+		when(pdbCache.getOrLoadComplex(eq(PROJECT_ID), any())).thenReturn(fixture("complex.pdb"), "");
+
+		assertEquals("12-30/0 A1-42", service.generateForProject(PROJECT_ID).getContig());
+		assertEquals("12-30/0 A1-42", service.generateForProject(PROJECT_ID).getContig());
+		assertEquals("12-30/0 A1-15", service.generateForProject(PROJECT_ID).getContig());
+		verify(pdbCache, times(2)).getOrLoadComplex(eq(PROJECT_ID), any());
+	}
+
+	@Test
+	void projectsWithoutHashesAreNotMemoized() {
+		generate("", fixture("complex.pdb"));
+		service.generateForProject(PROJECT_ID);
+		verify(pdbCache, times(2)).getOrLoadComplex(eq(PROJECT_ID), any());
+	}
+
+	/** Runs the service on the given texts; no stored hashes, so the result is not memoized. */
+	private GenerateResult generate(String target, String complex) {
+		when(projectRepository.findContentHashesById(PROJECT_ID))
+				.thenReturn(Optional.of(new ProjectContentHashesDto(null, null)));
+		when(pdbCache.getOrLoadTarget(eq(PROJECT_ID), any())).thenReturn(target);
+		when(pdbCache.getOrLoadComplex(eq(PROJECT_ID), any())).thenReturn(complex);
+		return service.generateForProject(PROJECT_ID);
+	}
+
+	private static String fixture(String name) {
+		try (InputStream in = BioJavaRfdiffusionParamServiceTest.class.getResourceAsStream("/structure/" + name)) {
+			assertNotNull(in, name);
+			return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
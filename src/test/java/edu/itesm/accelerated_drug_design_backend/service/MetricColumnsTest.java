@@ -0,0 +1,48 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricColumnsTest {
+
+	@Test
+	void tuplesFillColumnsInSelectOrder() {
+		// plddt, ptm, i_ptm, rmsd, mpnn, pae, i_pae
+		MetricColumns columns = MetricColumns.of(Stream.of(
+				new Object[]{90.0, 0.8, 0.7, 1.5, 1.1, 4.0, 9.0},
+				new Object[]{null, 0.6, Double.NaN, 2.5, 1.2, null, 8.0},
+				new Object[]{70.0, null, 0.5, 3.5, 1.3, 6.0, Double.NaN}));
+		assertArrayEquals(new double[]{90.0, 70.0}, columns.get("plddt"));
+		assertArrayEquals(new double[]{0.8, 0.6}, columns.get("ptm"));
+		assertArrayEquals(new double[]{0.7, 0.5}, columns.get("i_ptm"));
+		assertArrayEquals(new double[]{1.5, 2.5, 3.5}, columns.get("rmsd"));
+		assertArrayEquals(new double[]{1.1, 1.2, 1.3}, columns.get("mpnn"));
+		assertArrayEquals(new double[]{4.0, 6.0}, columns.get("pae"));
+		assertArrayEquals(new double[]{9.0, 8.0}, columns.get("i_pae"));
+		assertThrows(IllegalArgumentException.class, () -> columns.get("seq"));
+	}
+
+	@Test
+	void columnsGrowPastInitialCapacity() {
+		MetricColumns columns = MetricColumns.of(IntStream.range(0, 10_000)
+				.mapToObj(i -> new Object[]{(double) i, null, null, null, null, null, null}));
+		double[] plddt = columns.get("plddt");
+		assertEquals(10_000, plddt.length);
+		assertEquals(9_999.0, plddt[9_999], 0.0);
+		assertEquals(0, columns.get("ptm").length);
+	}
+
+	@Test
+	void emptyHasNoValues() {
+		for (String metric : EDAService.VALID_METRICS) {
+			assertEquals(0, MetricColumns.empty().get(metric).length);
+			assertEquals(0, MetricColumns.of(Stream.empty()).get(metric).length);
+		}
+	}
+}
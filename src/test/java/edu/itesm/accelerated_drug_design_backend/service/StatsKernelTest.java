@@ -0,0 +1,124 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsKernelTest {
+
+	@Test
+	void mergedMomentsMatchSinglePass() {
+		Random random = new Random(7);
+		double[] values = new double[10_000];
+		for (int i = 0; i < values.length; i++) {
+			// Skewed, offset data so the cross terms of the merge matter
+			values[i] = 500 + Math.exp(random.nextGaussian());
+		}
+		StatsKernel.Moments single = StatsKernel.moments(values);
+
+		// Uneven chunks, merged left to right and as a balanced tree
+		int[] cuts = {0, 1, 37, 2_000, 2_001, 6_500, values.length};
+		StatsKernel.Moments sequential = StatsKernel.Moments.EMPTY;
+		StatsKernel.Moments[] parts = new StatsKernel.Moments[cuts.length - 1];
+		for (int i = 0; i < parts.length; i++) {
+			parts[i] = StatsKernel.moments(Arrays.copyOfRange(values, cuts[i], cuts[i + 1]));
+			sequential = sequential.merge(parts[i]);
+		}
+		StatsKernel.Moments tree = parts[0].merge(parts[1]).merge(parts[2])
+				.merge(parts[3].merge(parts[4]).merge(parts[5]));
+
+		assertMomentsEqual(single, sequential);
+		assertMomentsEqual(single, tree);
+	}
+
+	@Test
+	void mergeWithEmptyIsIdentity() {
+		StatsKernel.Moments m = StatsKernel.moments(new double[]{1.0, 2.0, 4.0});
+		assertSame(m, m.merge(StatsKernel.Moments.EMPTY));
+		assertSame(m, StatsKernel.Moments.EMPTY.merge(m));
+	}
+
+	@Test
+	void summaryMatchesDefinitions() {
+		double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+		StatsKernel.Summary s = StatsKernel.summarize(values);
+		assertEquals(8, s.count());
+		assertEquals(5.0, s.mean(), 1e-12);
+		assertEquals(4.0, s.variance(), 1e-12);
+		assertEquals(2.0, s.std(), 1e-12);
+		assertEquals(2.0, s.min(), 0.0);
+		assertEquals(9.0, s.max(), 0.0);
+		assertEquals(4.0, s.p25(), 1e-12);
+		assertEquals(4.5, s.p50(), 1e-12);
+		assertEquals(5.5, s.p75(), 1e-12);
+		// Cubed deviations sum to 42: skew = (42 / n) / std^3
+		assertEquals(42.0 / 8 / 8, s.skew(), 1e-12);
+		// Input is not modified
+		assertEquals(9.0, values[7], 0.0);
+		assertEquals(2.0, values[0], 0.0);
+
+		StatsKernel.Summary constant = StatsKernel.summarize(new double[]{3, 3, 3});
+		assertTrue(Double.isNaN(constant.skew()));
+		assertTrue(Double.isNaN(constant.kurtosis()));
+	}
+
+	@Test
+	void singlePassMatchesTwoPassMoments() {
+		Random random = new Random(7);
+		double[] values = new double[10_000];
+		for (int i = 0; i < values.length; i++) {
+			// Skewed data far from zero, where naive power sums lose precision
+			values[i] = 500 + Math.exp(random.nextGaussian());
+		}
+		StatsKernel.Summary s = StatsKernel.summarize(values);
+
+		double mean = Arrays.stream(values).sum() / values.length;
+		double m2 = 0.0;
+		double m3 = 0.0;
+		double m4 = 0.0;
+		for (double v : values) {
+			double d = v - mean;
+			m2 += d * d;
+			m3 += d * d * d;
+			m4 += d * d * d * d;
+		}
+		double variance = m2 / values.length;
+		assertEquals(mean, s.mean(), 1e-9 * mean);
+		assertEquals(variance, s.variance(), 1e-9 * variance);
+		assertEquals(m3 / values.length / Math.pow(variance, 1.5), s.skew(), 1e-8);
+		assertEquals(m4 / values.length / (variance * variance) - 3.0, s.kurtosis(), 1e-8);
+	}
+
+	@Test
+	void summarizeInPlaceSortsInput() {
+		double[] values = {3.0, -1.0, 2.0};
+		StatsKernel.Summary s = StatsKernel.summarizeInPlace(values);
+		assertEquals(2.0, s.p50(), 0.0);
+		assertEquals(-1.0, values[0], 0.0);
+		assertEquals(3.0, values[2], 0.0);
+		assertEquals(7.0, StatsKernel.percentileOfSorted(new double[]{7.0}, 90), 0.0);
+	}
+
+	@Test
+	void emptyInputIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> StatsKernel.summarize(new double[0]));
+	}
+
+	private static void assertMomentsEqual(StatsKernel.Moments expected, StatsKernel.Moments actual) {
+		assertEquals(expected.count(), actual.count());
+		assertEquals(expected.mean(), actual.mean(), 1e-9 * Math.abs(expected.mean()));
+		assertEquals(expected.m2(), actual.m2(), 1e-9 * expected.m2());
+		assertEquals(expected.m3(), actual.m3(), 1e-8 * Math.abs(expected.m3()));
+		assertEquals(expected.m4(), actual.m4(), 1e-8 * expected.m4());
+		assertEquals(expected.min(), actual.min(), 0.0);
+		assertEquals(expected.max(), actual.max(), 0.0);
+		assertEquals(expected.skew(), actual.skew(), 1e-8);
+		assertEquals(expected.kurtosis(), actual.kurtosis(), 1e-8);
+	}
+}
@@ -0,0 +1,134 @@
+package edu.itesm.accelerated_drug_design_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TDigestTest {
+
+	private static final double[] PERCENTILES = {1, 5, 10, 25, 50, 75, 90, 95, 99};
+
+	/** Rank error bound stated in the TDigest javadoc (fraction of the count). */
+	private static final double MAX_RANK_ERROR = 0.01;
+
+	@Test
+	void percentilesMatchExactWithinRankError() {
+		for (double[] values : datasets()) {
+			double[] sorted = values.clone();
+			Arrays.sort(sorted);
+			TDigest digest = TDigest.of(values, TDigest.DEFAULT_COMPRESSION);
+			for (double p : PERCENTILES) {
+				assertWithinRankError(sorted, p, digest.percentile(p));
+			}
+		}
+	}
+
+	@Test
+	void mergedDigestMatchesExactWithinRankError() {
+		for (double[] values : datasets()) {
+			double[] sorted = values.clone();
+			Arrays.sort(sorted);
+			List<TDigest> parts = new ArrayList<>();
+			int chunks = 7;
+			for (int k = 0; k < chunks; k++) {
+				double[] part = Arrays.copyOfRange(values, k * values.length / chunks, (k + 1) * values.length / chunks);
+				parts.add(TDigest.of(part, TDigest.DEFAULT_COMPRESSION));
+			}
+			parts.add(TDigest.of(new double[0], TDigest.DEFAULT_COMPRESSION));
+			TDigest merged = TDigest.merge(parts);
+			assertEquals(values.length, merged.count(), 0.0);
+			for (double p : PERCENTILES) {
+				assertWithinRankError(sorted, p, merged.percentile(p));
+			}
+		}
+	}
+
+	@Test
+	void keepsExactMinAndMaxAndSmallInputs() {
+		double[] values = {3.0, -1.5, 8.25, 0.0};
+		TDigest digest = TDigest.of(values, TDigest.DEFAULT_COMPRESSION);
+		assertEquals(-1.5, digest.percentile(0), 0.0);
+		assertEquals(8.25, digest.percentile(100), 0.0);
+		// Fewer values than the compression: every value is its own centroid and percentiles are exact
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		for (double p : PERCENTILES) {
+			assertEquals(StatsKernel.percentileOfSorted(sorted, p), digest.percentile(p), 1e-12);
+		}
+		assertTrue(Double.isNaN(TDigest.of(new double[0], TDigest.DEFAULT_COMPRESSION).percentile(50)));
+	}
+
+	@Test
+	void bytesRoundTrip() {
+		double[] values = datasets().get(2);
+		TDigest digest = TDigest.of(values, TDigest.DEFAULT_COMPRESSION);
+		TDigest restored = TDigest.fromBytes(digest.toBytes());
+		assertEquals(digest.count(), restored.count(), 0.0);
+		assertEquals(digest.centroidCount(), restored.centroidCount());
+		for (double p : PERCENTILES) {
+			assertEquals(digest.percentile(p), restored.percentile(p), 0.0);
+		}
+	}
+
+	/** Uniform, normal, exponential and heavy-tailed lognormal samples of a few sizes. */
+	private static List<double[]> datasets() {
+		Random random = new Random(42);
+		List<double[]> result = new ArrayList<>();
+		for (int n : new int[]{1_000, 20_000}) {
+			double[] uniform = new double[n];
+			double[] normal = new double[n];
+			double[] exponential = new double[n];
+			double[] lognormal = new double[n];
+			for (int i = 0; i < n; i++) {
+				uniform[i] = random.nextDouble();
+				normal[i] = random.nextGaussian() * 5 + 70;
+				exponential[i] = -Math.log(1 - random.nextDouble());
+				lognormal[i] = Math.exp(random.nextGaussian() * 1.5);
+			}
+			result.add(uniform);
+			result.add(normal);
+			result.add(exponential);
+			result.add(lognormal);
+		}
+		return result;
+	}
+
+	/** The estimate's rank in the sorted data is within MAX_RANK_ERROR * n of the exact rank p/100 * (n-1). */
+	private static void assertWithinRankError(double[] sorted, double p, double estimate) {
+		int n = sorted.length;
+		double target = p / 100.0 * (n - 1);
+		int below = lowerBound(sorted, estimate);
+		int atOrBelow = upperBound(sorted, estimate);
+		double distance = target < below - 1 ? below - 1 - target : target > atOrBelow ? target - atOrBelow : 0;
+		assertTrue(distance <= MAX_RANK_ERROR * n,
+				"p" + p + " estimate " + estimate + " is " + distance + " ranks from exact (n=" + n + ")");
+	}
+
+	private static int lowerBound(double[] sorted, double x) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < x) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	private static int upperBound(double[] sorted, double x) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] <= x) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+}
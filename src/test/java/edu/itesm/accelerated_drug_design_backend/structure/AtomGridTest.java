@@ -0,0 +1,111 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Grid queries against a brute-force scan with the same float coordinates and distance formula. */
+class AtomGridTest {
+
+	private static final double[] RADII = {0.0, 1.5, 4.5, 10.0, 17.0};
+
+	@Test
+	void matchesBruteForceInsideTheBox() {
+		Random random = new Random(1);
+		float[][] atoms = randomAtoms(random, 2000, 40.0);
+		AtomGrid grid = AtomGrid.of(atoms[0], atoms[1], atoms[2], 4.5);
+		// Every atom as a query point (count includes itself), then random points in the box
+		for (int i = 0; i < 2000; i++) {
+			for (double r : RADII) {
+				assertSameHits(atoms, grid, atoms[0][i], atoms[1][i], atoms[2][i], r);
+			}
+		}
+		for (int q = 0; q < 500; q++) {
+			double px = random.nextDouble() * 40.0;
+			double py = random.nextDouble() * 40.0;
+			double pz = random.nextDouble() * 40.0;
+			for (double r : RADII) {
+				assertSameHits(atoms, grid, px, py, pz, r);
+			}
+		}
+	}
+
+	@Test
+	void matchesBruteForceOutsideTheBox() {
+		Random random = new Random(2);
+		float[][] atoms = randomAtoms(random, 1000, 30.0);
+		AtomGrid grid = AtomGrid.of(atoms[0], atoms[1], atoms[2], 4.5);
+		for (int q = 0; q < 500; q++) {
+			// Up to 20 Å beyond each face, so near points still reach atoms at the edge of the box
+			double px = -20.0 + random.nextDouble() * 70.0;
+			double py = -20.0 + random.nextDouble() * 70.0;
+			double pz = random.nextBoolean() ? -random.nextDouble() * 20.0 : 30.0 + random.nextDouble() * 20.0;
+			for (double r : RADII) {
+				assertSameHits(atoms, grid, px, py, pz, r);
+			}
+		}
+		// Far away and non-finite query points find nothing
+		assertEquals(0, grid.countWithin(1e12, -1e12, 1e12, 10.0));
+		assertEquals(0, grid.countWithin(Double.NaN, 0.0, 0.0, 10.0));
+	}
+
+	@Test
+	void sparseBoxGetsCoarserCellsWithSameResults() {
+		Random random = new Random(3);
+		// Two clusters 10^8 Å apart: a 0.5 Å grid over that box would need about 3·10^11 cells
+		float[][] atoms = randomAtoms(random, 400, 20.0);
+		for (int i = 200; i < 400; i++) {
+			atoms[0][i] += 1e8f;
+		}
+		AtomGrid grid = AtomGrid.of(atoms[0], atoms[1], atoms[2], 0.5);
+		for (int i = 0; i < 400; i++) {
+			for (double r : RADII) {
+				assertSameHits(atoms, grid, atoms[0][i], atoms[1][i], atoms[2][i], r);
+			}
+		}
+	}
+
+	@Test
+	void emptyGridAndInvalidInput() {
+		AtomGrid empty = AtomGrid.of(new float[0], new float[0], new float[0], 4.5);
+		assertEquals(0, empty.size());
+		assertEquals(0, empty.countWithin(0.0, 0.0, 0.0, 100.0));
+		assertThrows(IllegalArgumentException.class,
+				() -> AtomGrid.of(new float[2], new float[1], new float[2], 4.5));
+		assertThrows(IllegalArgumentException.class,
+				() -> AtomGrid.of(new float[1], new float[1], new float[1], 0.0));
+	}
+
+	private static void assertSameHits(float[][] atoms, AtomGrid grid, double px, double py, double pz, double r) {
+		List<Integer> expected = new ArrayList<>();
+		double r2 = r * r;
+		for (int i = 0; i < atoms[0].length; i++) {
+			double dx = atoms[0][i] - px;
+			double dy = atoms[1][i] - py;
+			double dz = atoms[2][i] - pz;
+			if (dx * dx + dy * dy + dz * dz <= r2) expected.add(i);
+		}
+		List<Integer> actual = new ArrayList<>();
+		grid.forEachWithin(px, py, pz, r, actual::add);
+		actual.sort(null);
+		String where = "(" + px + ", " + py + ", " + pz + ") r=" + r;
+		assertEquals(expected, actual, where);
+		assertEquals(expected.size(), grid.countWithin(px, py, pz, r), where);
+	}
+
+	/** Uniform atoms in [0, side)³, rounded to PDB's three decimals. */
+	static float[][] randomAtoms(Random random, int n, double side) {
+		float[][] xyz = new float[3][n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				xyz[k][i] = (float) (Math.round(random.nextDouble() * side * 1000.0) / 1000.0);
+			}
+		}
+		return xyz;
+	}
+}
@@ -0,0 +1,67 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Graph rows against a brute-force scan with the same float coordinates and distance formula. */
+class NeighborGraphTest {
+
+	private static final double BUILD_RADIUS = 12.0;
+	private static final double[] RADII = {0.0, 3.8, 8.0, 10.0, BUILD_RADIUS};
+
+	@Test
+	void matchesBruteForceForEveryRadiusUpToTheBuildRadius() {
+		// CA-like spacing: 300 points in a 45 Å box
+		float[][] points = AtomGridTest.randomAtoms(new Random(4), 300, 45.0);
+		NeighborGraph graph = NeighborGraph.build(points[0], points[1], points[2], BUILD_RADIUS);
+		assertEquals(300, graph.nodeCount());
+		for (int i = 0; i < 300; i++) {
+			for (double r : RADII) {
+				List<Integer> expected = bruteForce(points, i, r);
+				List<Integer> actual = new ArrayList<>();
+				graph.forEachWithin(i, r, actual::add);
+				actual.sort(null);
+				assertEquals(expected, actual, "node " + i + " r=" + r);
+				assertEquals(expected.size(), graph.countWithin(i, r), "node " + i + " r=" + r);
+			}
+		}
+	}
+
+	@Test
+	void coincidentPointsAreNeighboursAtZeroRadius() {
+		float[] x = {1f, 1f, 5f};
+		float[] y = {2f, 2f, 2f};
+		float[] z = {3f, 3f, 3f};
+		NeighborGraph graph = NeighborGraph.build(x, y, z, 4.0);
+		assertEquals(2, graph.countWithin(0, 0.0));
+		assertEquals(1, graph.countWithin(2, 3.9));
+		assertEquals(3, graph.countWithin(2, 4.0));
+	}
+
+	@Test
+	void radiusAboveBuildRadiusIsRejected() {
+		float[][] points = AtomGridTest.randomAtoms(new Random(5), 10, 10.0);
+		NeighborGraph graph = NeighborGraph.build(points[0], points[1], points[2], 6.0);
+		assertThrows(IllegalArgumentException.class, () -> graph.countWithin(0, 6.5));
+		assertThrows(IllegalArgumentException.class, () -> graph.forEachWithin(0, 6.5, i -> { }));
+		assertEquals(0, NeighborGraph.build(new float[0], new float[0], new float[0], 6.0).nodeCount());
+	}
+
+	private static List<Integer> bruteForce(float[][] points, int i, double r) {
+		List<Integer> out = new ArrayList<>();
+		double r2 = r * r;
+		for (int j = 0; j < points[0].length; j++) {
+			double dx = (double) points[0][j] - points[0][i];
+			double dy = (double) points[1][j] - points[1][i];
+			double dz = (double) points[2][j] - points[2][i];
+			if (dx * dx + dy * dy + dz * dz <= r2) out.add(j);
+		}
+		return out;
+	}
+}
@@ -0,0 +1,169 @@
+package edu.itesm.accelerated_drug_design_backend.structure;
+
+import org.biojava.nbio.structure.Structure;
+import org.biojava.nbio.structure.chem.ChemCompGroupFactory;
+import org.biojava.nbio.structure.chem.ReducedChemCompProvider;
+import org.biojava.nbio.structure.io.PDBFileReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fixed-column parser against {@link StructureModel#of} on BioJava's reading of the same files
+ * (src/test/resources/structure): several chains, ligands and waters split from their chain by TER records,
+ * insertion codes, side-chain and whole-residue alternate locations, microheterogeneity, a hydrogen and a
+ * HETATM selenomethionine, plus hybrid-36 atom serials and residue numbers.
+ */
+class PdbCoordinateParserTest {
+
+	@BeforeAll
+	static void offlineChemComps() {
+		// BioJava would otherwise download chemical component definitions while parsing
+		ChemCompGroupFactory.setChemCompProvider(new ReducedChemCompProvider());
+	}
+
+	@Test
+	void matchesBioJavaOnMultiChainComplex() {
+		String pdb = fixture("complex.pdb");
+		assertSameModel(StructureModel.of(readWithBioJava(pdb)), PdbCoordinateParser.parse(pdb));
+	}
+
+	@Test
+	void readsMultiChainComplex() {
+		StructureModel model = PdbCoordinateParser.parse(fixture("complex.pdb"));
+		assertEquals(4, model.chainCount());
+		assertEquals("A", model.chainId(0));
+		assertEquals("B", model.chainId(1));
+		assertEquals("C", model.chainId(2));
+		assertEquals("D", model.chainId(3));
+		// 40 residues plus GOL and three waters listed after the TER records
+		assertEquals(44, model.endResidue(0) - model.firstResidue(0));
+		int gol = residue(model, "A", 301, 0);
+		assertEquals("GOL", model.residueName(gol));
+		assertFalse(model.isPolymer(gol));
+		assertEquals(-1, model.caAtom(gol));
+		// HETATM selenomethionine has a backbone, so it counts as polymer
+		int mse = residue(model, "D", 4, 0);
+		assertEquals("MSE", model.residueName(mse));
+		assertTrue(model.isPolymer(mse));
+		// The hydrogen on A 4 is kept but is not heavy
+		int ala4 = residue(model, "A", 4, 0);
+		assertEquals(6, model.endAtom(ala4) - model.firstAtom(ala4));
+		assertFalse(model.isHeavy(model.firstAtom(ala4) + 1));
+	}
+
+	@Test
+	void insertionCodesAreSeparateResidues() {
+		StructureModel model = PdbCoordinateParser.parse(fixture("complex.pdb"));
+		assertEquals("GLY", model.residueName(residue(model, "A", 20, 0)));
+		assertEquals("HIS", model.residueName(residue(model, "A", 20, 1)));
+		assertEquals("LEU", model.residueName(residue(model, "A", 20, 2)));
+		assertEquals("VAL", model.residueName(residue(model, "A", 21, 0)));
+	}
+
+	@Test
+	void alternateLocationsKeepFirstConformer() {
+		StructureModel model = PdbCoordinateParser.parse(fixture("complex.pdb"));
+		// Side chain in A and B: backbone plus the A side chain
+		int lys11 = residue(model, "A", 11, 0);
+		assertEquals(6, model.endAtom(lys11) - model.firstAtom(lys11));
+		// Whole residue in A and B: only A, with its coordinates
+		int ala24 = residue(model, "A", 24, 0);
+		assertEquals(5, model.endAtom(ala24) - model.firstAtom(ala24));
+		assertEquals(-2.300f, model.x(model.caAtom(ala24)), 0f);
+		// SER (A) / THR (B) at B 110: one residue named after A, plus the THR-only atoms OG1 and CG2
+		int micro = residue(model, "B", 110, 0);
+		assertEquals("SER", model.residueName(micro));
+		assertEquals(8, model.endAtom(micro) - model.firstAtom(micro));
+		assertEquals("PHE", model.residueName(micro + 1));
+	}
+
+	@Test
+	void hybrid36AtomSerialsAreIgnored() {
+		// Same records as complex.pdb with serials from 99901 continuing as A0000, A0001, ...
+		String pdb = fixture("hybrid36-serials.pdb");
+		// BioJava 6.1 parses serials as decimal and cannot read the file at all
+		assertThrows(NumberFormatException.class, () -> readWithBioJava(pdb));
+		assertSameModel(StructureModel.of(readWithBioJava(fixture("complex.pdb"))), PdbCoordinateParser.parse(pdb));
+	}
+
+	@Test
+	void hybrid36ResidueNumbersAreRejected() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> PdbCoordinateParser.parse(fixture("hybrid36-residues.pdb")));
+		assertTrue(e.getMessage().startsWith("Invalid residue number"), e.getMessage());
+	}
+
+	@Test
+	void rejectsRecordsItDoesNotHandle() {
+		assertThrows(IllegalArgumentException.class, () -> PdbCoordinateParser.parse("HEADER    EMPTY\nEND\n"));
+		assertThrows(IllegalArgumentException.class, () -> PdbCoordinateParser.parse(
+				"ATOM      1  CA  ALA A   1      11.104   6.134\n"));
+		assertThrows(IllegalArgumentException.class, () -> PdbCoordinateParser.parse(
+				"ATOM      1  CA  ALA     1      11.104   6.134  -6.504  1.00  0.00           C\n"));
+	}
+
+	private static void assertSameModel(StructureModel expected, StructureModel actual) {
+		assertEquals(expected.chainCount(), actual.chainCount());
+		for (int c = 0; c < expected.chainCount(); c++) {
+			assertEquals(expected.chainId(c), actual.chainId(c));
+			assertEquals(expected.firstResidue(c), actual.firstResidue(c), "chain " + expected.chainId(c));
+			assertEquals(expected.endResidue(c), actual.endResidue(c), "chain " + expected.chainId(c));
+		}
+		assertEquals(expected.residueCount(), actual.residueCount());
+		for (int r = 0; r < expected.residueCount(); r++) {
+			String where = "residue " + r + " (" + expected.residueName(r) + expected.residueNumber(r) + ")";
+			assertEquals(expected.residueName(r), actual.residueName(r), where);
+			assertEquals(expected.residueNumber(r), actual.residueNumber(r), where);
+			assertEquals(expected.isPolymer(r), actual.isPolymer(r), where);
+			assertEquals(expected.firstAtom(r), actual.firstAtom(r), where);
+			assertEquals(expected.endAtom(r), actual.endAtom(r), where);
+			assertEquals(expected.caAtom(r), actual.caAtom(r), where);
+		}
+		assertEquals(expected.atomCount(), actual.atomCount());
+		for (int a = 0; a < expected.atomCount(); a++) {
+			// Both sides round the same decimal text to float, so coordinates match exactly
+			assertEquals(expected.x(a), actual.x(a), 0f, "atom " + a);
+			assertEquals(expected.y(a), actual.y(a), 0f, "atom " + a);
+			assertEquals(expected.z(a), actual.z(a), 0f, "atom " + a);
+			assertEquals(expected.isHeavy(a), actual.isHeavy(a), "atom " + a);
+		}
+	}
+
+	/** Index of the {@code nth} residue (0-based, for insertion codes) with the given chain and number. */
+	private static int residue(StructureModel model, String chainId, int number, int nth) {
+		int chain = model.chainIndex(chainId);
+		for (int r = model.firstResidue(chain); r < model.endResidue(chain); r++) {
+			if (model.residueNumber(r) == number && nth-- == 0) return r;
+		}
+		throw new AssertionError("No residue " + chainId + number);
+	}
+
+	private static Structure readWithBioJava(String pdb) {
+		try (ByteArrayInputStream in = new ByteArrayInputStream(pdb.getBytes(StandardCharsets.UTF_8))) {
+			return new PDBFileReader().getStructure(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static String fixture(String name) {
+		try (InputStream in = PdbCoordinateParserTest.class.getResourceAsStream("/structure/" + name)) {
+			assertNotNull(in, name);
+			return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
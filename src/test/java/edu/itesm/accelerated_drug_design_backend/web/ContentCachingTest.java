@@ -0,0 +1,91 @@
+package edu.itesm.accelerated_drug_design_backend.web;
+
+import edu.itesm.accelerated_drug_design_backend.dto.ContentVersionDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentCachingTest {
+
+	private static final String SHA = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+	@Test
+	void etagCarriesEncodingSuffix() {
+		assertEquals("\"" + SHA + "\"", ContentCaching.etag(SHA, false));
+		assertEquals("\"" + SHA + "-gzip\"", ContentCaching.etag(SHA, true));
+	}
+
+	@Test
+	void ifNoneMatchAcceptsEitherEncoding() {
+		assertTrue(ContentCaching.notModified("\"" + SHA + "\"", SHA));
+		assertTrue(ContentCaching.notModified("\"" + SHA + "-gzip\"", SHA));
+		assertFalse(ContentCaching.notModified("\"" + SHA.replace('9', '8') + "\"", SHA));
+		// Unquoted tags are not entity tags
+		assertFalse(ContentCaching.notModified(SHA, SHA));
+	}
+
+	@Test
+	void ifNoneMatchWildcard() {
+		assertTrue(ContentCaching.notModified("*", SHA));
+		assertTrue(ContentCaching.notModified(" * ", SHA));
+		assertTrue(ContentCaching.notModified("\"other\", *", SHA));
+	}
+
+	@Test
+	void ifNoneMatchWeakTagsCompareWeakly() {
+		assertTrue(ContentCaching.notModified("W/\"" + SHA + "\"", SHA));
+		assertTrue(ContentCaching.notModified("W/\"" + SHA + "-gzip\"", SHA));
+		assertFalse(ContentCaching.notModified("W/\"other\"", SHA));
+	}
+
+	@Test
+	void ifNoneMatchLists() {
+		assertTrue(ContentCaching.notModified("\"a\", \"b\",\"" + SHA + "\"", SHA));
+		assertTrue(ContentCaching.notModified("\"a\",W/\"" + SHA + "-gzip\"  ", SHA));
+		assertFalse(ContentCaching.notModified("\"a\", \"b\", W/\"c\"", SHA));
+		assertFalse(ContentCaching.notModified(",,", SHA));
+	}
+
+	@Test
+	void ifNoneMatchMissingHeaderOrHash() {
+		assertFalse(ContentCaching.notModified(null, SHA));
+		assertFalse(ContentCaching.notModified("", SHA));
+		assertFalse(ContentCaching.notModified("   ", SHA));
+		// Without a stored hash nothing can match, not even *
+		assertFalse(ContentCaching.notModified("*", null));
+	}
+
+	@Test
+	void ifModifiedSinceComparesAtSecondPrecision() {
+		Instant lastModified = Instant.parse("2025-03-01T10:15:30.750Z");
+		assertTrue(ContentCaching.notModifiedSince(httpDate(Instant.parse("2025-03-01T10:15:30Z")), lastModified));
+		assertTrue(ContentCaching.notModifiedSince(httpDate(Instant.parse("2025-03-02T00:00:00Z")), lastModified));
+		assertFalse(ContentCaching.notModifiedSince(httpDate(Instant.parse("2025-03-01T10:15:29Z")), lastModified));
+	}
+
+	@Test
+	void ifModifiedSinceIgnoresMissingOrInvalidDates() {
+		Instant lastModified = Instant.parse("2025-03-01T10:15:30Z");
+		assertFalse(ContentCaching.notModifiedSince(null, lastModified));
+		assertFalse(ContentCaching.notModifiedSince(" ", lastModified));
+		assertFalse(ContentCaching.notModifiedSince("yesterday", lastModified));
+		assertFalse(ContentCaching.notModifiedSince(httpDate(lastModified), null));
+	}
+
+	@Test
+	void completedContentIsImmutable() {
+		assertTrue(ContentCaching.isImmutable(new ContentVersionDto(SHA, "COMPLETED")));
+		assertFalse(ContentCaching.isImmutable(new ContentVersionDto(SHA, "RUNNING")));
+		assertFalse(ContentCaching.isImmutable(new ContentVersionDto(SHA, null)));
+	}
+
+	private static String httpDate(Instant instant) {
+		return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+	}
+}